@@ -0,0 +1,68 @@
+package com.example.app.benchmark;
+
+import com.example.app.security.CachingPasswordEncoder;
+import com.example.app.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request credential check on authenticated writes: plain BCrypt (the previous behaviour),
+ * a hit in the verified-credential cache, and bearer token verification. Only the check itself is
+ * timed; the load test's {@code auth=basic} and {@code auth=bearer} runs measure whole authenticated writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String PASSWORD = "adminpass";
+
+    private BCryptPasswordEncoder bcrypt;
+    private CachingPasswordEncoder cachingEncoder;
+    private TokenService tokenService;
+    private String encodedPassword;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder();
+        encodedPassword = bcrypt.encode(PASSWORD);
+        cachingEncoder = new CachingPasswordEncoder(bcrypt, Duration.ofHours(1), 1000);
+        cachingEncoder.matches(PASSWORD, encodedPassword);
+
+        tokenService = new TokenService(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofHours(1));
+        token = tokenService.issue("admin", AuthorityUtils.createAuthorityList("ROLE_ADMIN")).getToken();
+    }
+
+    @Benchmark
+    public boolean basicWithBcrypt() {
+        return bcrypt.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean basicWithCredentialCache() {
+        return cachingEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public TokenService.VerifiedToken bearerToken() {
+        return tokenService.verify(token);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.app.benchmark;
+
+import com.example.app.Application;
+import com.example.app.dto.CategoryDto;
+import com.example.app.dto.ProductBatchItemResultDto;
+import com.example.app.dto.ProductDto;
+import com.example.app.money.Money;
+import com.example.app.service.CategoryService;
+import com.example.app.service.ProductService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the full application in-process against the embedded database from
+ * {@code application-benchmark.yml} and seeds it through the regular services.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("benchmark")
+                .run();
+    }
+
+    /**
+     * Creates a category with {@code productCount} products, using the batch endpoint's service method.
+     */
+    public static SeededCategory seedCategory(ConfigurableApplicationContext context, String name, int productCount) {
+        CategoryService categoryService = context.getBean(CategoryService.class);
+        ProductService productService = context.getBean(ProductService.class);
+
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setName(name);
+        Long categoryId = categoryService.createCategory(categoryDto).getId();
+
+        List<Long> productIds = new ArrayList<>(productCount);
+        for (int offset = 0; offset < productCount; offset += ProductService.MAX_BATCH_SIZE) {
+            int batchSize = Math.min(ProductService.MAX_BATCH_SIZE, productCount - offset);
+            List<ProductDto> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                batch.add(product(name, offset + i));
+            }
+            for (ProductBatchItemResultDto result : productService.createProducts(categoryId, batch).getResults()) {
+                productIds.add(result.getId());
+            }
+        }
+        return new SeededCategory(categoryId, productIds);
+    }
+
+    public static ProductDto product(String prefix, int index) {
+        ProductDto productDto = new ProductDto();
+        productDto.setName(prefix + " product " + index);
+        // Spread prices so price-sorted pages are not all ties
+        productDto.setPrice(Money.ofMinor(100 + (index * 7919L) % 100_000));
+        return productDto;
+    }
+
+    public static final class SeededCategory {
+        private final Long categoryId;
+        private final List<Long> productIds;
+
+        private SeededCategory(Long categoryId, List<Long> productIds) {
+            this.categoryId = categoryId;
+            this.productIds = productIds;
+        }
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+    }
+}
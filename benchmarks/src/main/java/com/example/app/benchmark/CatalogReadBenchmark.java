@@ -0,0 +1,83 @@
+package com.example.app.benchmark;
+
+import com.example.app.dto.ProductDto;
+import com.example.app.dto.ProductPageDto;
+import com.example.app.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full service read paths (transaction, repository query, mapping) against the embedded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogReadBenchmark {
+
+    @Param({"1000", "10000"})
+    private int categorySize;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long categoryId;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        productService = context.getBean(ProductService.class);
+        BenchmarkApplication.SeededCategory seeded = BenchmarkApplication.seedCategory(context, "catalog", categorySize);
+        categoryId = seeded.getCategoryId();
+        productIds = seeded.getProductIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductPageDto firstPageById() {
+        return productService.getProductsByCategoryId(categoryId, null, pageSize, "id", null, null);
+    }
+
+    @Benchmark
+    public ProductPageDto firstPageByPrice() {
+        return productService.getProductsByCategoryId(categoryId, null, pageSize, "price", null, null);
+    }
+
+    @Benchmark
+    public ProductPageDto priceRangePage() {
+        return productService.getProductsByCategoryId(categoryId, null, pageSize, "price",
+                new BigDecimal("100.00"), new BigDecimal("500.00"));
+    }
+
+    @Benchmark
+    public ProductDto productById() {
+        Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        return productService.getProductById(productId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.app.benchmark;
+
+import com.example.app.dto.CategoryDto;
+import com.example.app.dto.ProductDto;
+import com.example.app.entity.Category;
+import com.example.app.entity.Product;
+import com.example.app.money.Money;
+import com.example.app.service.CategoryMapper;
+import com.example.app.service.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping in isolation, through the mappers the services use. Needs no application context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private Category category;
+    private Product product;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        category = new Category();
+        category.setId(1L);
+        category.setName("Mapping");
+        category.setVersion(0L);
+
+        product = new Product();
+        product.setId(1L);
+        product.setName("Mapping product");
+        product.setPrice(Money.ofMinor(1999));
+        product.setCategory(category);
+        product.setVersion(0L);
+    }
+
+    @Benchmark
+    public ProductDto productToDto() {
+        return ProductMapper.toDto(product);
+    }
+
+    @Benchmark
+    public CategoryDto categoryToDto() {
+        return CategoryMapper.toDto(category);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.app.benchmark;
+
+import com.example.app.dto.ProductDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding and decoding of product lists with the price held as {@code Money} (the real
+ * {@link ProductDto}) against the previous {@code BigDecimal} field. Run with {@code -prof gc} to
+ * compare allocation per operation as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneySerializationBenchmark {
+
+    @Param({"500", "10000"})
+    private int size;
+
+    @Param({"money", "bigdecimal"})
+    private String price;
+
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+    private List<?> products;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ProductDto> moneyProducts = new ArrayList<>(size);
+        List<BigDecimalProductDto> bigDecimalProducts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ProductDto productDto = BenchmarkApplication.product("money", i);
+            productDto.setId((long) i + 1);
+            productDto.setCategoryId(1L);
+            moneyProducts.add(productDto);
+
+            BigDecimalProductDto bigDecimalDto = new BigDecimalProductDto();
+            bigDecimalDto.id = productDto.getId();
+            bigDecimalDto.name = productDto.getName();
+            bigDecimalDto.price = productDto.getPrice().toBigDecimal();
+            bigDecimalDto.categoryId = productDto.getCategoryId();
+            bigDecimalProducts.add(bigDecimalDto);
+        }
+        boolean money = price.equals("money");
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class,
+                money ? ProductDto.class : BigDecimalProductDto.class);
+        listWriter = objectMapper.writerFor(listType);
+        listReader = objectMapper.readerFor(listType);
+        products = money ? moneyProducts : bigDecimalProducts;
+        encoded = listWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return listWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<?> deserializeList() throws IOException {
+        return listReader.readValue(encoded);
+    }
+
+    // The same JSON shape as ProductDto, with the price as it was before it became Money
+    public static class BigDecimalProductDto {
+        public Long id;
+        public String name;
+        public BigDecimal price;
+        public Long categoryId;
+    }
+}
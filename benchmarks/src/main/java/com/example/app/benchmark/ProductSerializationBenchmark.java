@@ -0,0 +1,84 @@
+package com.example.app.benchmark;
+
+import com.example.app.dto.ProductDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding and decoding of product lists, JSON against CBOR, at response sizes from a single
+ * item to a 10,000-item list. The encoded size of each list is logged once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSerializationBenchmark.class);
+
+    @Param({"1", "50", "500", "10000"})
+    private int size;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+    private List<ProductDto> products;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults Spring MVC applies to its message converters
+        ObjectMapper objectMapper = format.equals("cbor")
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, ProductDto.class);
+        listWriter = objectMapper.writerFor(listType);
+        listReader = objectMapper.readerFor(listType);
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ProductDto productDto = BenchmarkApplication.product("serialization", i);
+            productDto.setId((long) i + 1);
+            productDto.setCategoryId(1L);
+            productDto.setVersion(0L);
+            products.add(productDto);
+        }
+        encoded = listWriter.writeValueAsBytes(products);
+        log.info("{}, {} items: {} bytes ({} per item)", format, size, encoded.length,
+                String.format("%.1f", (double) encoded.length / size));
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return listWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<ProductDto> deserializeList() throws IOException {
+        return listReader.readValue(encoded);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.app.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microseconds, three significant digits) and error counters.
+ */
+final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        endpoints.clear();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    /**
+     * @param startNanos when the request should have been sent; with a target rate this is its scheduled time,
+     *                   so a stalled server is charged for the requests that queued up behind it
+     */
+    void record(String endpoint, long startNanos, long endNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), HIGHEST_TRACKABLE_MICROS);
+        stats.histogram.recordValue(Math.max(micros, 0));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    void report(PrintStream out, double elapsedSeconds) {
+        String format = "%-48s %9s %7s %10s %9s %9s %9s %9s%n";
+        out.printf(format, "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram histogram = entry.getValue().histogram.copy();
+            long errors = entry.getValue().errors.sum();
+            total.add(histogram);
+            totalErrors += errors;
+            printRow(out, format, entry.getKey(), histogram, errors, elapsedSeconds);
+        }
+        printRow(out, format, "TOTAL", total, totalErrors, elapsedSeconds);
+    }
+
+    private static void printRow(PrintStream out, String format, String name, Histogram histogram, long errors,
+                                 double elapsedSeconds) {
+        out.printf(format, name, histogram.getTotalCount(), errors,
+                String.format("%.1f", histogram.getTotalCount() / elapsedSeconds),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.app.loadtest;
+
+import com.example.app.Application;
+import com.example.app.dto.CategoryDto;
+import com.example.app.dto.ProductBatchItemResultDto;
+import com.example.app.dto.ProductDto;
+import com.example.app.money.Money;
+import com.example.app.service.CategoryService;
+import com.example.app.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application on a random port against an embedded database, seeds a catalog and drives
+ * the mixed {@link Workload} over HTTP, then prints per-endpoint throughput and latency percentiles.
+ * <p>
+ * Settings are {@code key=value} arguments, see {@link LoadTestConfig}.
+ */
+public final class LoadTest {
+
+    private static final String ADMIN_CREDENTIALS = "admin:adminpass";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        SpringApplicationBuilder application = new SpringApplicationBuilder(Application.class).profiles("loadtest");
+        if (config.stack.equals("reactive")) {
+            application.profiles("reactive");
+        }
+        if (config.replicas > 0) {
+            application.properties(replicaProperties(config.replicas));
+        }
+        try (ConfigurableApplicationContext context = application.run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+
+            long seedStart = System.nanoTime();
+            List<Long> categoryIds = new ArrayList<>(config.categories);
+            List<Long> productIds = new ArrayList<>(config.categories * config.productsPerCategory);
+            seed(context, config, categoryIds, productIds);
+            System.out.printf("Seeded %d categories and %d products in %.1f s%n", categoryIds.size(), productIds.size(),
+                    (System.nanoTime() - seedStart) / 1e9);
+            if (config.replicas > 0) {
+                copyToReplicas(context, config.replicas);
+                System.out.println("Copied the catalog to " + config.replicas + " replica(s)");
+            }
+
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            ExecutorService workers = Executors.newFixedThreadPool(config.concurrency);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String basicCredentials = Base64.getEncoder().encodeToString(ADMIN_CREDENTIALS.getBytes(StandardCharsets.UTF_8));
+            String authorization = config.auth.equals("basic")
+                    ? "Basic " + basicCredentials
+                    : "Bearer " + Workload.bearerToken(client, objectMapper, baseUrl, basicCredentials);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            Workload workload = new Workload(client, objectMapper, recorder, baseUrl, authorization, config.writeRatio,
+                    categoryIds, productIds);
+            try {
+                run(workers, workload, config);
+
+                System.out.println("Warming up for " + config.warmup);
+                Thread.sleep(config.warmup.toMillis());
+                recorder.start();
+                long measureStart = System.nanoTime();
+                System.out.println("Measuring for " + config.duration);
+                Thread.sleep(config.duration.toMillis());
+                recorder.stop();
+                double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+                recorder.report(System.out, elapsedSeconds);
+            } finally {
+                workers.shutdownNow();
+                workers.awaitTermination(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static void run(ExecutorService workers, Workload workload, LoadTestConfig config) {
+        // With a target rate each worker follows its own fixed schedule, and latency is measured from the
+        // scheduled start time so that queueing delay is not hidden (coordinated omission)
+        long intervalNanos = config.rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * config.concurrency / config.rate) : 0;
+        for (int i = 0; i < config.concurrency; i++) {
+            workers.submit(() -> {
+                long next = System.nanoTime();
+                while (!Thread.currentThread().isInterrupted()) {
+                    long scheduled = intervalNanos > 0 ? next : System.nanoTime();
+                    if (intervalNanos > 0) {
+                        long wait = next - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        next += intervalNanos;
+                    }
+                    try {
+                        workload.runOnce(scheduled);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception ex) {
+                        // Already counted as an error for the endpoint; keep the load going
+                    }
+                }
+            });
+        }
+    }
+
+    // Each replica is its own in-memory database. It has no tables until the seeded catalog is copied
+    // over, and the lag query returns no row until then, so reads stay on the primary during seeding.
+    private static Map<String, Object> replicaProperties(int replicas) {
+        List<String> urls = new ArrayList<>(replicas);
+        for (int i = 1; i <= replicas; i++) {
+            urls.add(replicaUrl(i));
+        }
+        return Map.of(
+                "app.datasource.replicas.urls", String.join(",", urls),
+                "app.datasource.replicas.lag-query",
+                "SELECT 0 FROM information_schema.tables WHERE table_name = 'products'",
+                "app.datasource.replicas.health-check-interval", "PT1S");
+    }
+
+    private static String replicaUrl(int replica) {
+        return "jdbc:h2:mem:loadtest-replica-" + replica
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    }
+
+    // A one-off snapshot rather than replication: later writes stay on the primary, which is enough
+    // because the workload only reads the seeded catalog
+    private static void copyToReplicas(ConfigurableApplicationContext context, int replicas)
+            throws IOException, SQLException {
+        Path script = Files.createTempFile("loadtest-catalog", ".sql");
+        try {
+            try (Connection primary = context.getBean(DataSource.class).getConnection();
+                 Statement statement = primary.createStatement()) {
+                statement.execute("SCRIPT TO '" + script + "'");
+            }
+            for (int i = 1; i <= replicas; i++) {
+                try (Connection replica = DriverManager.getConnection(replicaUrl(i), "sa", "");
+                     Statement statement = replica.createStatement()) {
+                    statement.execute("RUNSCRIPT FROM '" + script + "'");
+                }
+            }
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    // Seeding goes through the services in-process; only the measured workload uses HTTP
+    private static void seed(ConfigurableApplicationContext context, LoadTestConfig config,
+                             List<Long> categoryIds, List<Long> productIds) {
+        CategoryService categoryService = context.getBean(CategoryService.class);
+        ProductService productService = context.getBean(ProductService.class);
+        for (int c = 0; c < config.categories; c++) {
+            CategoryDto categoryDto = new CategoryDto();
+            categoryDto.setName("Category " + c);
+            Long categoryId = categoryService.createCategory(categoryDto).getId();
+            categoryIds.add(categoryId);
+
+            for (int offset = 0; offset < config.productsPerCategory; offset += ProductService.MAX_BATCH_SIZE) {
+                int batchSize = Math.min(ProductService.MAX_BATCH_SIZE, config.productsPerCategory - offset);
+                List<ProductDto> batch = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize; i++) {
+                    ProductDto productDto = new ProductDto();
+                    productDto.setName("Category " + c + " product " + (offset + i));
+                    productDto.setPrice(Money.ofMinor(100 + ((offset + i) * 7919L) % 100_000));
+                    batch.add(productDto);
+                }
+                for (ProductBatchItemResultDto result : productService.createProducts(categoryId, batch).getResults()) {
+                    productIds.add(result.getId());
+                }
+            }
+        }
+    }
+}
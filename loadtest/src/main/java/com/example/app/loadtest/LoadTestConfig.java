@@ -0,0 +1,73 @@
+package com.example.app.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from {@code key=value} command line arguments.
+ */
+final class LoadTestConfig {
+
+    final int categories;
+    final int productsPerCategory;
+    final int concurrency;
+    final Duration warmup;
+    final Duration duration;
+    final double writeRatio;
+    // Total requests per second across all workers; 0 runs closed-loop as fast as responses come back
+    final double rate;
+    // Embedded replica databases; 0 reads from the primary only
+    final int replicas;
+    // Which stack serves the product GET endpoints: mvc (JPA) or reactive (R2DBC)
+    final String stack;
+    // How writes authenticate: bearer (one token for the run) or basic (credentials on every request)
+    final String auth;
+
+    private LoadTestConfig(Map<String, String> values) {
+        this.categories = Integer.parseInt(values.getOrDefault("categories", "20"));
+        this.productsPerCategory = Integer.parseInt(values.getOrDefault("productsPerCategory", "1000"));
+        this.concurrency = Integer.parseInt(values.getOrDefault("concurrency", "16"));
+        this.warmup = Duration.parse(values.getOrDefault("warmup", "PT10S"));
+        this.duration = Duration.parse(values.getOrDefault("duration", "PT60S"));
+        this.writeRatio = Double.parseDouble(values.getOrDefault("writeRatio", "0.1"));
+        this.rate = Double.parseDouble(values.getOrDefault("rate", "0"));
+        this.replicas = Integer.parseInt(values.getOrDefault("replicas", "0"));
+        this.stack = values.getOrDefault("stack", "mvc");
+        this.auth = values.getOrDefault("auth", "bearer");
+        if (categories < 1 || productsPerCategory < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("categories, productsPerCategory and concurrency must be positive");
+        }
+        if (replicas < 0) {
+            throw new IllegalArgumentException("replicas must not be negative");
+        }
+        if (!stack.equals("mvc") && !stack.equals("reactive")) {
+            throw new IllegalArgumentException("stack must be mvc or reactive");
+        }
+        if (!auth.equals("bearer") && !auth.equals("basic")) {
+            throw new IllegalArgumentException("auth must be bearer or basic");
+        }
+        if (writeRatio < 0 || writeRatio > 1) {
+            throw new IllegalArgumentException("writeRatio must be between 0 and 1");
+        }
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    @Override
+    public String toString() {
+        return "categories=" + categories + " productsPerCategory=" + productsPerCategory + " concurrency=" + concurrency
+                + " warmup=" + warmup + " duration=" + duration + " writeRatio=" + writeRatio
+                + " rate=" + (rate > 0 ? rate + "/s" : "closed-loop") + " replicas=" + replicas + " stack=" + stack + " auth=" + auth;
+    }
+}
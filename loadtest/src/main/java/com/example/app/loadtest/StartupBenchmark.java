@@ -0,0 +1,190 @@
+package com.example.app.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures cold-start time to the first successful request. Each run starts the application in a new
+ * JVM against an empty embedded database, polls {@code GET /api/categories} until it answers 200 and
+ * then stops it.
+ * <p>
+ * Settings are {@code key=value} arguments: {@code runs} (default 5) and {@code variant}, either
+ * {@code baseline} (default) or {@code fast-start}. The fast-start variant runs the AOT-processed
+ * context with the fast-start profile, and a class-data-sharing archive from a training run unless
+ * {@code cds=false}. It needs the application installed with {@code mvn -Pfast-start install}.
+ */
+public final class StartupBenchmark {
+
+    private static final String FIRST_REQUEST_PATH = "/api/categories";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_INTERVAL_MILLIS = 5;
+    private static final Path WORK_DIRECTORY = Path.of("target", "startup");
+
+    private static final List<String> EMBEDDED_DATABASE_ARGS = List.of(
+            "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--app.summaries.reconcile-enabled=false");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = parse(args);
+        int runs = Integer.parseInt(settings.getOrDefault("runs", "5"));
+        String variant = settings.getOrDefault("variant", "baseline");
+        boolean cds = Boolean.parseBoolean(settings.getOrDefault("cds", "true"));
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs must be positive");
+        }
+        if (!variant.equals("baseline") && !variant.equals("fast-start")) {
+            throw new IllegalArgumentException("variant must be baseline or fast-start");
+        }
+        System.out.println("Startup benchmark: runs=" + runs + " variant=" + variant
+                + (variant.equals("fast-start") ? " cds=" + cds : ""));
+        Files.createDirectories(WORK_DIRECTORY);
+
+        List<String> jvmOptions = new ArrayList<>();
+        List<String> applicationArgs = new ArrayList<>(EMBEDDED_DATABASE_ARGS);
+        if (variant.equals("fast-start")) {
+            jvmOptions.add("-Dspring.aot.enabled=true");
+            applicationArgs.add("--spring.profiles.active=fast-start");
+            if (cds) {
+                Path archive = WORK_DIRECTORY.resolve("fast-start.jsa");
+                createArchive(archive, jvmOptions, applicationArgs);
+                jvmOptions.add("-XX:SharedArchiveFile=" + archive);
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            Path log = WORK_DIRECTORY.resolve(variant + "-" + (i + 1) + ".log");
+            millis[i] = timeToFirstRequest(client, jvmOptions, applicationArgs, log);
+            System.out.printf("Run %d: %d ms%n", i + 1, millis[i]);
+        }
+        Arrays.sort(millis);
+        System.out.printf("Time to first request: min %d ms, median %d ms, max %d ms%n",
+                millis[0], millis[runs / 2], millis[runs - 1]);
+    }
+
+    // The archive depends on the exact JVM and jars, so it is recreated for every benchmark
+    private static void createArchive(Path archive, List<String> jvmOptions, List<String> applicationArgs)
+            throws IOException, InterruptedException {
+        Files.deleteIfExists(archive);
+        List<String> trainingOptions = new ArrayList<>(jvmOptions);
+        trainingOptions.add("-XX:ArchiveClassesAtExit=" + archive);
+        trainingOptions.add("-Dapp.startup.exit-when-ready=true");
+        Path log = WORK_DIRECTORY.resolve("cds-training.log");
+        Process process = start(trainingOptions, applicationArgs, 0, log);
+        if (!process.waitFor(START_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            stop(process);
+            throw new IllegalStateException("CDS training run did not finish within " + START_TIMEOUT + "; see " + log);
+        }
+        if (process.exitValue() != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("CDS training run failed with exit code " + process.exitValue() + "; see " + log);
+        }
+        System.out.println("Created CDS archive " + archive + " (" + Files.size(archive) / (1024 * 1024) + " MB)");
+    }
+
+    private static long timeToFirstRequest(HttpClient client, List<String> jvmOptions, List<String> applicationArgs,
+                                           Path log) throws IOException, InterruptedException {
+        int port = freePort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST_PATH))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        Process process = start(jvmOptions, applicationArgs, port, log);
+        try {
+            while (true) {
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet
+                }
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue() + "; see " + log);
+                }
+                if (System.nanoTime() - start > START_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("No response within " + START_TIMEOUT + "; see " + log);
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } finally {
+            stop(process);
+        }
+    }
+
+    private static Process start(List<String> jvmOptions, List<String> applicationArgs, int port, Path log)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(jarClasspath());
+        command.add("com.example.app.Application");
+        command.addAll(applicationArgs);
+        command.add("--server.port=" + port);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    // Only the application and its dependencies: CDS archives classes from jar files only and rejects
+    // a classpath with non-empty directories, such as this module's own target/classes
+    private static String jarClasspath() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.endsWith(".jar"))
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return values;
+    }
+}
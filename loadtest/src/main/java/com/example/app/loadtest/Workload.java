@@ -0,0 +1,218 @@
+package com.example.app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The mixed workload: every endpoint of ProductController and CategoryController, picked at random by weight.
+ * <p>
+ * Reads target the seeded catalog. Writes only update and delete products and categories the
+ * workload created itself, so the seeded data stays in place for the reads.
+ */
+final class Workload {
+
+    private static final int MULTI_GET_SIZE = 20;
+    private static final int BATCH_SIZE = 100;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder;
+    private final String baseUrl;
+    private final String authorization;
+    private final double writeRatio;
+    private final List<Long> categoryIds;
+    private final List<Long> productIds;
+
+    private final Queue<Long> createdProductIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    Workload(HttpClient client, ObjectMapper objectMapper, LatencyRecorder recorder, String baseUrl, String authorization,
+             double writeRatio, List<Long> categoryIds, List<Long> productIds) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+        this.baseUrl = baseUrl;
+        this.authorization = authorization;
+        this.writeRatio = writeRatio;
+        this.categoryIds = categoryIds;
+        this.productIds = productIds;
+    }
+
+    /**
+     * Runs one randomly chosen operation. {@code scheduledNanos} is the time the operation was meant to start.
+     */
+    void runOnce(long scheduledNanos) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < writeRatio) {
+            runWrite(random.nextInt(100), scheduledNanos);
+        } else {
+            runRead(random.nextInt(100), scheduledNanos);
+        }
+    }
+
+    private void runRead(int roll, long start) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (roll < 10) {
+            get("GET /api/categories", "/api/categories", start);
+        } else if (roll < 20) {
+            get("GET /api/categories/{id}", "/api/categories/" + randomCategoryId(), start);
+        } else if (roll < 45) {
+            String sort = switch (random.nextInt(3)) {
+                case 0 -> "id";
+                case 1 -> "price";
+                default -> "price_desc";
+            };
+            String path = "/api/categories/" + randomCategoryId() + "/products?limit=50&sort=" + sort;
+            if (random.nextInt(4) == 0) {
+                int minPrice = random.nextInt(900);
+                path += "&minPrice=" + minPrice + "&maxPrice=" + (minPrice + 100);
+            }
+            HttpResponse<byte[]> firstPage = get("GET /api/categories/{id}/products", path, start);
+            String cursor = firstPage.headers().firstValue("X-Next-Cursor").orElse(null);
+            if (cursor != null && random.nextBoolean()) {
+                get("GET /api/categories/{id}/products", path + "&cursor=" + cursor, System.nanoTime());
+            }
+        } else if (roll < 70) {
+            get("GET /api/products/{id}", "/api/products/" + randomProductId(), start);
+        } else if (roll < 80) {
+            StringBuilder ids = new StringBuilder();
+            for (int i = 0; i < MULTI_GET_SIZE; i++) {
+                ids.append(i == 0 ? "" : ",").append(randomProductId());
+            }
+            get("GET /api/products?ids=", "/api/products?ids=" + ids, start);
+        } else if (roll < 95) {
+            get("GET /api/products/search", "/api/products/search?q=product+" + random.nextInt(1000), start);
+        } else if (roll < 99) {
+            send("GET /api/categories/cache-stats", request("/api/categories/cache-stats").GET(), start); // Admin only
+        } else {
+            get("GET /api/products/export", "/api/products/export?format=ndjson&categoryId=" + randomCategoryId(), start);
+        }
+    }
+
+    private void runWrite(int roll, long start) throws IOException, InterruptedException {
+        if (roll < 35) {
+            createProduct(start);
+        } else if (roll < 65) {
+            Long productId = createdProductIds.poll();
+            if (productId == null) {
+                createProduct(start);
+                return;
+            }
+            HttpResponse<byte[]> response = send("PUT /api/products/{id}",
+                    request("/api/products/" + productId).PUT(json(product())), start);
+            if (response.statusCode() != 404) {
+                createdProductIds.add(productId);
+            }
+        } else if (roll < 85) {
+            Long productId = createdProductIds.poll();
+            if (productId == null) {
+                createProduct(start);
+                return;
+            }
+            send("DELETE /api/products/{id}", request("/api/products/" + productId).DELETE(), start);
+        } else if (roll < 90) {
+            List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(product());
+            }
+            HttpResponse<byte[]> response = send("POST /api/categories/{id}/products/batch",
+                    request("/api/categories/" + randomCategoryId() + "/products/batch").POST(json(batch)), start);
+            if (response.statusCode() == 200) {
+                for (JsonNode result : objectMapper.readTree(response.body()).path("results")) {
+                    if (result.hasNonNull("id")) {
+                        createdProductIds.add(result.get("id").asLong());
+                    }
+                }
+            }
+        } else {
+            // Category lifecycle; each step is recorded under its own endpoint
+            HttpResponse<byte[]> created = send("POST /api/categories",
+                    request("/api/categories").POST(json(Map.of("name", "load test " + sequence.incrementAndGet()))), start);
+            if (created.statusCode() != 201) {
+                return;
+            }
+            long categoryId = objectMapper.readTree(created.body()).path("id").asLong();
+            send("PUT /api/categories/{id}", request("/api/categories/" + categoryId)
+                    .PUT(json(Map.of("name", "load test " + sequence.incrementAndGet()))), System.nanoTime());
+            send("DELETE /api/categories/{id}", request("/api/categories/" + categoryId).DELETE(), System.nanoTime());
+        }
+    }
+
+    private void createProduct(long start) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("POST /api/categories/{id}/products",
+                request("/api/categories/" + randomCategoryId() + "/products").POST(json(product())), start);
+        if (response.statusCode() == 201) {
+            createdProductIds.add(objectMapper.readTree(response.body()).path("id").asLong());
+        }
+    }
+
+    private HttpResponse<byte[]> get(String endpoint, String path, long start) throws IOException, InterruptedException {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), start);
+    }
+
+    private HttpResponse<byte[]> send(String endpoint, HttpRequest.Builder request, long start)
+            throws IOException, InterruptedException {
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(endpoint, start, System.nanoTime(), response.statusCode() < 400);
+            return response;
+        } catch (IOException ex) {
+            recorder.record(endpoint, start, System.nanoTime(), false);
+            throw ex;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private Map<String, Object> product() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.of("name", "load test product " + sequence.incrementAndGet(),
+                "price", BigDecimal.valueOf(random.nextLong(100, 100_000), 2));
+    }
+
+    private Long randomCategoryId() {
+        return categoryIds.get(ThreadLocalRandom.current().nextInt(categoryIds.size()));
+    }
+
+    private Long randomProductId() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    static String bearerToken(HttpClient client, ObjectMapper objectMapper, String baseUrl, String basicCredentials)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token"))
+                .header("Authorization", "Basic " + basicCredentials)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Could not obtain a bearer token: HTTP " + response.statusCode());
+            }
+            return objectMapper.readTree(body).path("accessToken").asText();
+        }
+    }
+}
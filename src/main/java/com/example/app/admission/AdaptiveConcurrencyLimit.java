@@ -0,0 +1,77 @@
+package com.example.app.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit adjusted by AIMD on request latency. Each completion within the latency target
+ * adds {@code 1 / limit}, about one slot per limit's worth of requests, while the limit is at least half
+ * used. A slower completion cuts the limit by a fifth, at most once per target interval, so one burst of
+ * slow responses does not collapse it.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF = 0.8;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int currentLimit;
+
+    private final Object lock = new Object();
+    private double limit; // Guarded by lock
+    private long lastDecreaseNanos; // Guarded by lock
+
+    AdaptiveConcurrencyLimit(int minLimit, int initialLimit, int maxLimit, Duration latencyTarget) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max concurrency");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = latencyTarget.toNanos();
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+        this.lastDecreaseNanos = System.nanoTime() - targetNanos;
+    }
+
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (lock) {
+            if (latencyNanos > targetNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= targetNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= currentLimit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            currentLimit = (int) limit;
+        }
+    }
+
+    // For requests whose duration says nothing about load, e.g. those handed off to a streaming thread
+    void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return currentLimit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
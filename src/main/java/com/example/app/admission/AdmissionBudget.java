@@ -0,0 +1,105 @@
+package com.example.app.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * One class of traffic (reads or writes): a token bucket per client and an adaptive limit on how many
+ * of its requests may run at once.
+ * <p>
+ * Meters, tagged {@code budget}: {@code app.admission.requests} counts requests by {@code outcome}
+ * ({@code admitted}, {@code rate_limited}, {@code shed}); {@code app.admission.concurrency.limit} and
+ * {@code app.admission.in_flight} show the current limit and how much of it is in use.
+ */
+public class AdmissionBudget {
+
+    // Beyond this the least recently seen clients are dropped and start again with a full bucket
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private final String name;
+    private final double ratePerSecond;
+    private final int burst;
+    final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    /**
+     * @param ratePerSecond sustained requests per second per client; 0 disables per-client limits
+     * @param burst         requests a client may send at once after being idle
+     */
+    public AdmissionBudget(String name, double ratePerSecond, int burst,
+                           int minConcurrency, int initialConcurrency, int maxConcurrency, Duration latencyTarget,
+                           MeterRegistry meterRegistry) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        // A bucket left idle this long is full again, so dropping it loses nothing
+        Duration refillTime = ratePerSecond > 0
+                ? Duration.ofNanos((long) Math.ceil(burst / ratePerSecond * 1e9))
+                : Duration.ZERO;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterAccess(refillTime.plusSeconds(1))
+                .build();
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(minConcurrency, initialConcurrency, maxConcurrency, latencyTarget);
+        this.admitted = counter(meterRegistry, "admitted");
+        this.rateLimited = counter(meterRegistry, "rate_limited");
+        this.shed = counter(meterRegistry, "shed");
+        Gauge.builder("app.admission.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Requests of this budget allowed to run at once")
+                .tag("budget", name)
+                .register(meterRegistry);
+        Gauge.builder("app.admission.in_flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Admitted requests of this budget still running")
+                .tag("budget", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @return 0 if the client is within its rate, otherwise the nanoseconds until it may send again
+     */
+    long takeToken(String client) {
+        if (ratePerSecond <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(client, key -> new TokenBucket(burst, ratePerSecond, now));
+        long waitNanos = bucket.tryTake(now);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+        }
+        return waitNanos;
+    }
+
+    boolean tryAcquire() {
+        if (concurrencyLimit.tryAcquire()) {
+            admitted.increment();
+            return true;
+        }
+        shed.increment();
+        return false;
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("app.admission.requests")
+                .description("Requests seen by admission control")
+                .tag("budget", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.app.admission;
+
+import com.example.app.exception.TooManyRequestsException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.function.HandlerFunction;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the product and category endpoints. Reads (GET, HEAD) and writes draw on
+ * separate budgets. A request is rejected with 429 and {@code Retry-After} when:
+ * <ul>
+ *   <li>its client has used up its token bucket, or</li>
+ *   <li>the budget's concurrency limit is reached.</li>
+ * </ul>
+ * It never waits for a database connection that is not coming. Runs as an interceptor rather than a
+ * servlet filter so that rejections are rendered by {@code GlobalExceptionHandler}.
+ * <p>
+ * A request that goes async keeps its slot until the async processing completes, errors or times out.
+ * Streaming responses are released without a latency sample, as their duration depends on the client.
+ * <p>
+ * Clients are the authenticated user name, or the remote address for anonymous reads. Behind a trusted
+ * proxy ({@code server.tomcat.remoteip.internal-proxies}) the container has already replaced the remote
+ * address with the client's from {@code X-Forwarded-For}; the header of any other sender is ignored.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+    private static final String ADMISSION = AdmissionInterceptor.class.getName() + ".admission";
+
+    private final AdmissionBudget reads;
+    private final AdmissionBudget writes;
+    private final long shedRetryAfterSeconds;
+
+    public AdmissionInterceptor(AdmissionBudget reads, AdmissionBudget writes, Duration shedRetryAfter) {
+        this.reads = reads;
+        this.writes = writes;
+        this.shedRetryAfterSeconds = Math.max(1, shedRetryAfter.toSeconds());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches resume a request that was already admitted
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        AdmissionBudget budget = READ_METHODS.contains(request.getMethod()) ? reads : writes;
+        long waitNanos = budget.takeToken(client(request));
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many " + budget.getName() + " requests from this client.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        if (!budget.tryAcquire()) {
+            throw new TooManyRequestsException("The server is busy; retry later.", shedRetryAfterSeconds);
+        }
+        request.setAttribute(ADMISSION, new Admission(budget, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Admission admission = take(request);
+        if (admission != null) {
+            admission.release();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Admission admission = (Admission) request.getAttribute(ADMISSION);
+        if (admission == null) {
+            return;
+        }
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // A functional handler's async dispatch started streaming in turn; the listener is already registered
+            admission.streaming = true;
+            return;
+        }
+        // Functional handlers go async on every request; anything else that does is a streaming response
+        admission.streaming = !(handler instanceof HandlerFunction);
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                admission.release();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                admission.release();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                admission.release();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private static Admission take(HttpServletRequest request) {
+        Admission admission = (Admission) request.getAttribute(ADMISSION);
+        request.removeAttribute(ADMISSION);
+        return admission;
+    }
+
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    // Released exactly once: by the last dispatch's afterCompletion or by the async listener, whichever runs first
+    private static final class Admission {
+        private final AdmissionBudget budget;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean streaming;
+
+        private Admission(AdmissionBudget budget, long startNanos) {
+            this.budget = budget;
+            this.startNanos = startNanos;
+        }
+
+        private void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (streaming) {
+                budget.concurrencyLimit.releaseWithoutSample();
+            } else {
+                budget.concurrencyLimit.release(System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
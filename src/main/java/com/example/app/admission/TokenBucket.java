@@ -0,0 +1,39 @@
+package com.example.app.admission;
+
+/**
+ * Classic token bucket: refills continuously at a fixed rate up to its capacity.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens; // Guarded by this
+    private long refilledAt; // Guarded by this
+
+    TokenBucket(double capacity, double tokensPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1e9;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    synchronized long tryTake(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    // now is read before the lock is taken, so it can be slightly older than the last refill
+    private void refill(long now) {
+        if (now - refilledAt > 0) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.app.cache;
+
+import com.example.app.datasource.ReadRouting;
+import com.example.app.dto.CacheStatsDto;
+import com.example.app.dto.CategoryDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holds already-serialized JSON and CBOR bodies for the category read endpoints, so a hit is served
+ * without touching the database or the ObjectMapper.
+ * <p>
+ * Reads are lock-free. Inserts and invalidations share a lock and a generation counter, so a body
+ * loaded before an invalidation can never be stored after it. Each body is stored with its ETag.
+ */
+@Component
+public class CategoryResponseCache {
+
+    private static final String LIST_KEY = "all";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private long generation; // Guarded by writeLock
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public CategoryResponseCache(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                                 @Value("${app.cache.categories.ttl:5m}") Duration ttl,
+                                 @Value("${app.cache.categories.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public CachedResponse getList(Supplier<List<CategoryDto>> loader, Function<List<CategoryDto>, String> etag) {
+        return get(LIST_KEY, loader, etag);
+    }
+
+    public CachedResponse getById(Long id, Supplier<CategoryDto> loader, Function<CategoryDto, String> etag) {
+        return get(id, loader, etag);
+    }
+
+    /**
+     * Returns the ETag of a fresh cached list without loading anything or touching the counters.
+     */
+    public String peekListEtag() {
+        return peekEtag(LIST_KEY);
+    }
+
+    public String peekEtag(Long id) {
+        return peekEtag((Object) id);
+    }
+
+    /**
+     * Drops the category list and the given category. Call after the change is committed.
+     */
+    public void invalidate(Long id) {
+        synchronized (writeLock) {
+            generation++;
+            entries.remove(LIST_KEY);
+            if (id != null) {
+                entries.remove(id);
+            }
+        }
+        invalidations.increment();
+    }
+
+    public CacheStatsDto getStats() {
+        return new CacheStatsDto(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), entries.size());
+    }
+
+    private String peekEtag(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && System.nanoTime() - entry.expiresAt < 0 ? entry.response.getEtag() : null;
+    }
+
+    private <T> CachedResponse get(Object key, Supplier<T> loader, Function<T, String> etag) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (now - entry.expiresAt < 0) {
+                hits.increment();
+                return entry.response;
+            }
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long loadGeneration;
+        synchronized (writeLock) {
+            loadGeneration = generation;
+        }
+        // From the primary: a lagging replica could hand back the version the invalidation just removed
+        T value = ReadRouting.onPrimary(loader);
+        // Both formats are written on a miss; categories are small and misses follow writes only
+        CachedResponse response = new CachedResponse(serialize(objectMapper, value), serialize(cborMapper, value),
+                etag.apply(value));
+        synchronized (writeLock) {
+            if (loadGeneration == generation) {
+                if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+                    evictOne(now);
+                }
+                entries.put(key, new Entry(response, now + ttlNanos));
+            }
+        }
+        return response;
+    }
+
+    // Prefer an expired entry; otherwise drop an arbitrary one to stay within maxEntries
+    private void evictOne(long now) {
+        Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+        Object victim = null;
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Entry> candidate = iterator.next();
+            if (victim == null) {
+                victim = candidate.getKey();
+            }
+            if (now - candidate.getValue().expiresAt >= 0) {
+                victim = candidate.getKey();
+                break;
+            }
+        }
+        if (victim != null && entries.remove(victim) != null) {
+            evictions.increment();
+        }
+    }
+
+    private static byte[] serialize(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize category response", ex);
+        }
+    }
+
+    public static final class CachedResponse {
+        private final byte[] body;
+        private final byte[] cborBody;
+        private final String etag;
+
+        private CachedResponse(byte[] body, byte[] cborBody, String etag) {
+            this.body = body;
+            this.cborBody = cborBody;
+            this.etag = etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public byte[] getCborBody() {
+            return cborBody;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    private static final class Entry {
+        private final CachedResponse response;
+        private final long expiresAt;
+
+        private Entry(CachedResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.app.config;
+
+import com.example.app.admission.AdmissionBudget;
+import com.example.app.admission.AdmissionInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Admission control for ProductController and CategoryController, see {@link AdmissionInterceptor}.
+ * Settings live under {@code app.admission.read}, {@code app.admission.write} and {@code app.admission.export}.
+ * Exports have a small budget of their own: each holds its slot for as long as the client downloads.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private static final String EXPORT_PATH = "/api/products/export";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Duration shedRetryAfter;
+
+    @Autowired
+    public AdmissionConfig(Environment environment, MeterRegistry meterRegistry,
+                           @Value("${app.admission.shed-retry-after:1s}") Duration shedRetryAfter) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.shedRetryAfter = shedRetryAfter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        AdmissionBudget reads = budget("read", 100, 200, 4, 20, 50, Duration.ofMillis(250));
+        AdmissionBudget writes = budget("write", 10, 50, 1, 4, 8, Duration.ofSeconds(1));
+        // Streams are released without a latency sample, so this limit stays where it is configured
+        AdmissionBudget exports = budget("export", 1, 5, 4, 4, 4, Duration.ofMinutes(1));
+        // First, so a rejected request costs nothing else
+        registry.addInterceptor(new AdmissionInterceptor(reads, writes, shedRetryAfter))
+                .addPathPatterns("/api/products/**", "/api/categories/**")
+                .excludePathPatterns(EXPORT_PATH)
+                .order(Ordered.HIGHEST_PRECEDENCE);
+        registry.addInterceptor(new AdmissionInterceptor(exports, writes, shedRetryAfter))
+                .addPathPatterns(EXPORT_PATH)
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    private AdmissionBudget budget(String name, double rate, int burst, int minConcurrency, int initialConcurrency,
+                                   int maxConcurrency, Duration latencyTarget) {
+        String prefix = "app.admission." + name + ".";
+        return new AdmissionBudget(name,
+                environment.getProperty(prefix + "rate", Double.class, rate),
+                environment.getProperty(prefix + "burst", Integer.class, burst),
+                environment.getProperty(prefix + "min-concurrency", Integer.class, minConcurrency),
+                environment.getProperty(prefix + "initial-concurrency", Integer.class, initialConcurrency),
+                environment.getProperty(prefix + "max-concurrency", Integer.class, maxConcurrency),
+                environment.getProperty(prefix + "latency-target", Duration.class, latencyTarget),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Startup shortcuts for the {@code fast-start} profile. Skipping schema validation ({@code ddl-auto: none})
+ * comes from {@code application-fast-start.yml}; AOT processing and the CDS archive come from the Maven profile.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    // Springdoc's beans are only needed once someone opens the API docs or Swagger UI. Their endpoints
+    // are still mapped at startup, because handler mappings only need the bean type.
+    @Bean
+    public static BeanFactoryPostProcessor lazyOpenApiBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isSpringdocBean(beanFactory, definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    // The CDS training run: once started, exit so the JVM writes the class archive
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> exitWhenReady(
+            @Value("${app.startup.exit-when-ready:false}") boolean exitWhenReady) {
+        return event -> {
+            if (exitWhenReady) {
+                System.exit(SpringApplication.exit(event.getApplicationContext()));
+            }
+        };
+    }
+
+    // @Bean methods have no class name of their own; they belong to their declaring configuration
+    private static boolean isSpringdocBean(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (className == null && factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            className = beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return className != null && className.startsWith(SPRINGDOC_PACKAGE);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.app.config;
+
+import com.example.app.metrics.EntityLoadCountingInterceptor;
+import com.example.app.metrics.InstrumentedDataSource;
+import com.example.app.metrics.RequestMetricsInterceptor;
+import com.example.app.metrics.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement and entity load counts, attributed to the controller method, and the slow query log.
+ * Latency histograms, Hibernate statistics and Hikari pool gauges come from Actuator (see application.yml).
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    // The bean name of both Spring Boot's DataSource and ReadReplicaConfig's
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Static so the post-processor is registered before the DataSource is created. Only the application's
+    // DataSource is wrapped (Spring Boot's pool, or the replica routing DataSource), so any other DataSource
+    // bean, e.g. a pool behind the routing one, neither counts its statements twice nor changes type.
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (APPLICATION_DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, slowQueryLog);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry));
+    }
+}
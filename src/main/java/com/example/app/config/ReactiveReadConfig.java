@@ -0,0 +1,107 @@
+package com.example.app.config;
+
+import com.example.app.exception.ApiErrorMapper;
+import com.example.app.reactive.ReactiveExceptionResolver;
+import com.example.app.reactive.ReactiveProductHandler;
+import com.example.app.reactive.ReactiveProductRepository;
+import com.example.app.search.ProductSearchIndex;
+import com.example.app.service.ProductExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.servlet.function.support.RouterFunctionMapping;
+
+import java.time.Duration;
+
+/**
+ * The {@code reactive} profile: the product GET endpoints are served by {@link ReactiveProductHandler}
+ * over an R2DBC pool instead of {@code ProductController} over JPA. Everything else, writes included,
+ * stays on the blocking stack, so the two read paths can be compared under the same workload.
+ * <p>
+ * The pool is deliberately not a {@code ConnectionFactory} bean: Spring Boot would then stop configuring
+ * the JDBC {@code DataSource} that JPA still needs.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveReadConfig {
+
+    @Bean
+    public ReactiveProductRepository reactiveProductRepository(
+            @Value("${app.reactive.r2dbc.url}") String url,
+            @Value("${app.reactive.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${app.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${app.reactive.r2dbc.pool.max-size:20}") int maxSize,
+            @Value("${app.reactive.r2dbc.pool.max-acquire-time:2s}") Duration maxAcquireTime,
+            @Value("${app.reactive.r2dbc.fetch-size:1000}") int fetchSize,
+            MeterRegistry meterRegistry) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .initialSize(Math.min(10, maxSize))
+                .maxSize(maxSize)
+                // Fail a read rather than queue it indefinitely behind an exhausted pool
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        new ConnectionPoolMetrics(pool, "reactive", Tags.empty()).bindTo(meterRegistry);
+        return new ReactiveProductRepository(pool, fetchSize);
+    }
+
+    @Bean
+    public ReactiveProductHandler reactiveProductHandler(ReactiveProductRepository repository,
+                                                         ProductSearchIndex productSearchIndex, ObjectMapper objectMapper) {
+        return new ReactiveProductHandler(repository, productSearchIndex, new ProductExportWriter(objectMapper));
+    }
+
+    // Literal paths come before /api/products/{id}
+    @Bean
+    public RouterFunction<ServerResponse> reactiveProductRoutes(ReactiveProductHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/categories/{categoryId}/products", handler::getProductsByCategoryId)
+                .GET("/api/products/search", handler::searchProducts)
+                .GET("/api/products/export", handler::exportProducts)
+                .GET("/api/products/{id}", handler::getProductById)
+                .GET("/api/products", handler::getProductsByIds)
+                .build();
+    }
+
+    @Bean
+    public ReactiveExceptionResolver reactiveExceptionResolver(ApiErrorMapper apiErrorMapper,
+                                                               HttpMessageConverters messageConverters) {
+        return new ReactiveExceptionResolver(apiErrorMapper, messageConverters.getConverters());
+    }
+
+    // Functional routes are normally consulted after the annotated controllers, which map the same GET paths
+    @Bean
+    public static BeanPostProcessor routerFunctionsFirst() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RouterFunctionMapping mapping) {
+                    mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.app.config;
+
+import com.example.app.datasource.ReadYourWritesInterceptor;
+import com.example.app.datasource.ReplicaRoutingDataSource;
+import com.example.app.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas. Only active when
+ * {@code app.datasource.replicas.urls} is set; otherwise Spring Boot's single pool is used as before.
+ * <p>
+ * The primary pool is built from {@code spring.datasource.*}, with {@code spring.datasource.hikari.*} applied as
+ * for Spring Boot's own pool; replicas share its credentials unless
+ * {@code app.datasource.replicas.username}/{@code password} are set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    private final Duration readYourWritesWindow;
+
+    @Autowired
+    public ReadReplicaConfig(@Value("${app.datasource.replicas.read-your-writes-window:10s}") Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    // A HikariConfig rather than the pool itself: a second DataSource bean would compete with the routing one
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryPoolConfig(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setPoolName("primary");
+        config.setMetricRegistry(meterRegistry);
+        return config;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(HikariConfig primaryPoolConfig,
+                                 @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                 @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                 @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                 @Value("${app.datasource.replicas.connection-timeout:2s}") Duration connectionTimeout,
+                                 @Value("${app.datasource.replicas.max-lag:5s}") Duration maxLag,
+                                 @Value("${app.datasource.replicas.lag-query:" + ReplicaSet.POSTGRESQL_LAG_QUERY + "}") String lagQuery,
+                                 MeterRegistry meterRegistry) {
+        // Copied rather than passed to the constructor, which would open the pool right away
+        HikariDataSource primary = new HikariDataSource();
+        primaryPoolConfig.copyStateTo(primary);
+
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // Fail fast so a dead replica costs a read little before it falls back to the primary
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaSet(primary, replicas, lagQuery.trim(), maxLag, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaSet));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesWindow));
+    }
+}
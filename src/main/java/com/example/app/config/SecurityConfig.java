@@ -1,5 +1,9 @@
 package com.example.app.config;
 
+import com.example.app.security.BearerTokenAuthenticationFilter;
+import com.example.app.security.CachingPasswordEncoder;
+import com.example.app.security.TokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,15 +16,25 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.time.Duration;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String TOKEN_ENDPOINT = "/api/auth/token";
+    private static final String CACHE_STATS_ENDPOINT = "/api/categories/cache-stats";
+
+    // BCrypt runs once per credential pair per TTL instead of on every Basic-authenticated request
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.credential-cache.ttl:5m}") Duration ttl,
+                                           @Value("${app.security.credential-cache.max-entries:1000}") int maxEntries) {
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), ttl, maxEntries);
     }
 
     @Bean
@@ -41,15 +55,20 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
             .csrf(csrf -> csrf.disable()) // Updated CSRF configuration
             .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(HttpMethod.POST, TOKEN_ENDPOINT).authenticated()
+                .requestMatchers(HttpMethod.GET, CACHE_STATS_ENDPOINT).hasRole("ADMIN") // Operational data
                 .requestMatchers(HttpMethod.GET, "/api/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/swagger-ui/**", "/v3/api-docs/**").permitAll() // Allow Swagger access
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
                 .requestMatchers("/api/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
+            .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService, new AntPathRequestMatcher(TOKEN_ENDPOINT)),
+                    BasicAuthenticationFilter.class)
             .httpBasic(withDefaults());
         return http.build();
     }
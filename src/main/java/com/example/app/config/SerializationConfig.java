@@ -0,0 +1,24 @@
+package com.example.app.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary CBOR alongside JSON, chosen by the Accept header. JSON stays the default: Boot keeps this
+ * converter after the JSON one, so wildcard Accept headers and requests without one still get JSON.
+ * <p>
+ * Jackson writes {@code BigDecimal} prices as CBOR decimal fractions (tag 4): an exponent and an
+ * integer mantissa, e.g. 19.99 as [-2, 1999], which decode back to the exact value.
+ */
+@Configuration
+public class SerializationConfig {
+
+    // Built from Boot's builder so spring.jackson.* settings apply to both formats
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
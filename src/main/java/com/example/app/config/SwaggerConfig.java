@@ -4,9 +4,11 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 // import org.springdoc.core.GroupedOpenApi; // Not strictly needed for basic setup with springdoc-openapi-starter-webmvc-ui
 
 @Configuration
+@Lazy // Only needed when the API docs are first requested
 // @EnableOpenApi // This annotation is deprecated and not needed with springdoc-openapi v2+
 public class SwaggerConfig {
 
@@ -0,0 +1,45 @@
+package com.example.app.controller;
+
+import com.example.app.dto.TokenDto;
+import com.example.app.security.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Authentication", description = "Exchange Basic credentials for a bearer token")
+public class AuthController {
+
+    private final TokenService tokenService;
+
+    @Autowired
+    public AuthController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Operation(summary = "Issue a bearer token",
+               description = "Authenticate once with HTTP Basic and send the returned token as "
+                       + "'Authorization: Bearer <token>' on later requests until it expires.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Token issued",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = TokenDto.class))),
+        @ApiResponse(responseCode = "401", description = "Missing or invalid credentials")
+    })
+    @PostMapping("/token")
+    public ResponseEntity<TokenDto> issueToken(Authentication authentication) {
+        TokenService.IssuedToken token = tokenService.issue(authentication.getName(), authentication.getAuthorities());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new TokenDto(token.getToken(), "Bearer", token.getExpiresInSeconds()));
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.app.controller;
 
+import com.example.app.cache.CategoryResponseCache;
+import com.example.app.dto.CacheStatsDto;
 import com.example.app.dto.CategoryDto;
+import com.example.app.dto.CategorySummaryDto;
 import com.example.app.service.CategoryService;
+import com.example.app.service.CategorySummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,7 +14,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,33 +27,90 @@ import java.util.List;
 @Tag(name = "Category Management", description = "APIs for managing product categories")
 public class CategoryController {
 
+    static final String DELETED_PRODUCTS_HEADER = "X-Deleted-Products";
+
     private final CategoryService categoryService;
+    private final CategoryResponseCache categoryResponseCache;
+    private final CategorySummaryService categorySummaryService;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CategoryResponseCache categoryResponseCache,
+                              CategorySummaryService categorySummaryService) {
         this.categoryService = categoryService;
+        this.categoryResponseCache = categoryResponseCache;
+        this.categorySummaryService = categorySummaryService;
     }
 
     @Operation(summary = "List all categories", responses = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list", 
                      content = @Content(mediaType = "application/json", 
-                                        schema = @Schema(implementation = CategoryDto.class, type = "array")))
+                                        schema = @Schema(implementation = CategoryDto.class, type = "array"))),
+        @ApiResponse(responseCode = "304", description = "List unchanged since the ETag in If-None-Match")
     })
-    @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        List<CategoryDto> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<byte[]> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (ifNoneMatch != null) {
+            String currentEtag = categoryResponseCache.peekListEtag();
+            if (currentEtag == null) {
+                currentEtag = ETags.ofCategoryList(categoryService.getCategoryVersions());
+            }
+            currentEtag = ETags.forAccept(currentEtag, accept);
+            if (ETags.matches(ifNoneMatch, currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+        // Served from pre-serialized bodies; the service is only consulted on a cache miss
+        CategoryResponseCache.CachedResponse categories =
+                categoryResponseCache.getList(categoryService::getAllCategories, ETags::ofCategories);
+        return cachedBody(categories, accept);
     }
 
     @Operation(summary = "Get category by ID", responses = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved category", 
                      content = @Content(mediaType = "application/json", schema = @Schema(implementation = CategoryDto.class))),
+        @ApiResponse(responseCode = "304", description = "Category unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Category not found")
     })
-    @GetMapping("/{id}")
-    public ResponseEntity<CategoryDto> getCategoryById(@Parameter(description = "ID of category to return") @PathVariable Long id) {
-        CategoryDto categoryDto = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(categoryDto);
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<byte[]> getCategoryById(@Parameter(description = "ID of category to return") @PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (ifNoneMatch != null) {
+            String currentEtag = categoryResponseCache.peekEtag(id);
+            if (currentEtag == null) {
+                currentEtag = ETags.ofVersion(categoryService.getCategoryVersion(id));
+            }
+            currentEtag = ETags.forAccept(currentEtag, accept);
+            if (ETags.matches(ifNoneMatch, currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+        CategoryResponseCache.CachedResponse categoryDto = categoryResponseCache.getById(id,
+                () -> categoryService.getCategoryById(id), category -> ETags.ofVersion(category.getVersion()));
+        return cachedBody(categoryDto, accept);
+    }
+
+    @Operation(summary = "Product count and price range of every category",
+               description = "Figures are maintained as products change, so this reads one row per category "
+                       + "rather than the products themselves.", responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved summaries",
+                     content = @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = CategorySummaryDto.class, type = "array")))
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<List<CategorySummaryDto>> getCategorySummaries() {
+        return ResponseEntity.ok(categorySummaryService.getSummaries());
+    }
+
+    @Operation(summary = "Category response cache statistics", description = "Requires ADMIN role", responses = {
+        @ApiResponse(responseCode = "200", description = "Current hit/miss/eviction counters",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatsDto.class)))
+    })
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(categoryResponseCache.getStats());
     }
 
     @Operation(summary = "Create new category", description = "Requires ADMIN role", responses = {
@@ -65,22 +128,43 @@ public class CategoryController {
         @ApiResponse(responseCode = "200", description = "Category updated successfully",
                      content = @Content(mediaType = "application/json", schema = @Schema(implementation = CategoryDto.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "404", description = "Category not found")
+        @ApiResponse(responseCode = "404", description = "Category not found"),
+        @ApiResponse(responseCode = "412", description = "Category no longer matches the ETag in If-Match")
     })
     @PutMapping("/{id}")
     public ResponseEntity<CategoryDto> updateCategory(@Parameter(description = "ID of category to update") @PathVariable Long id, 
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
                                                     @Valid @RequestBody CategoryDto categoryDto) {
-        CategoryDto updatedCategory = categoryService.updateCategory(id, categoryDto);
-        return ResponseEntity.ok(updatedCategory);
+        CategoryDto updatedCategory = categoryService.updateCategory(id, categoryDto, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(ETags.ofVersion(updatedCategory.getVersion()), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updatedCategory);
     }
 
-    @Operation(summary = "Delete category", description = "Requires ADMIN role. Deleting a category will also delete its associated products.", responses = {
+    @Operation(summary = "Delete category", description = "Requires ADMIN role. Deleting a category will also delete its associated products. "
+            + "The number of removed products is returned in the " + DELETED_PRODUCTS_HEADER + " header.", responses = {
         @ApiResponse(responseCode = "204", description = "Category deleted successfully"),
-        @ApiResponse(responseCode = "404", description = "Category not found")
+        @ApiResponse(responseCode = "404", description = "Category not found"),
+        @ApiResponse(responseCode = "412", description = "Category no longer matches the ETag in If-Match")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCategory(@Parameter(description = "ID of category to delete") @PathVariable Long id) {
-        categoryService.deleteCategory(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> deleteCategory(@Parameter(description = "ID of category to delete") @PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        int deletedProducts = categoryService.deleteCategory(id, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent()
+                .header(DELETED_PRODUCTS_HEADER, String.valueOf(deletedProducts))
+                .build();
+    }
+
+    // The cache holds the JSON tag; the CBOR body gets its own
+    private static ResponseEntity<byte[]> cachedBody(CategoryResponseCache.CachedResponse response, String accept) {
+        boolean cbor = ContentNegotiation.prefersCbor(accept);
+        return ResponseEntity.ok()
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .eTag(cbor ? ETags.ofCbor(response.getEtag()) : response.getEtag())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(cbor ? response.getCborBody() : response.getBody());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.example.app.controller;
+
+import com.example.app.dto.ChangeFeedPageDto;
+import com.example.app.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@Tag(name = "Change Feed", description = "Incremental changes to products and categories")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Autowired
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @Operation(summary = "List changes after a sequence number", responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved changes",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeFeedPageDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid 'since'")
+    })
+    @GetMapping
+    public ResponseEntity<ChangeFeedPageDto> getChanges(
+            @Parameter(description = "Return changes with a sequence number greater than this") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changes (default " + ChangeFeedService.DEFAULT_PAGE_SIZE + ", capped at "
+                    + ChangeFeedService.MAX_PAGE_SIZE + ")") @RequestParam(required = false) Integer limit) {
+        ChangeFeedPageDto page = changeFeedService.getChangesSince(since, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Subscribe to live changes (Server-Sent Events)",
+               description = "Each event's id is its sequence number. Reconnect with Last-Event-ID to resume. A client "
+                       + "too far behind to replay gets a '" + ChangeFeedService.RESYNC_EVENT + "' event, then the stream "
+                       + "closes; reload the full state before subscribing again.")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Replay changes after this sequence number before streaming live ones")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeedService.subscribe(lastEventId);
+    }
+}
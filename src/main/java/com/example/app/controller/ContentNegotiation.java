@@ -0,0 +1,38 @@
+package com.example.app.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Format selection for handlers that write pre-serialized bodies and so bypass the message converters.
+ */
+final class ContentNegotiation {
+
+    private ContentNegotiation() {
+    }
+
+    /**
+     * True if the Accept header prefers CBOR to JSON. A missing header or a wildcard means JSON.
+     */
+    static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(mediaTypes); // Most specific first, then by quality
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.app.controller;
+
+import com.example.app.dto.CategoryDto;
+import com.example.app.exception.BadRequestException;
+import com.example.app.exception.PreconditionFailedException;
+import com.example.app.repository.CategoryRepository;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Builds and compares the ETags used for conditional requests. Single resources use their
+ * {@code @Version} as a strong ETag. The category list uses a weak ETag that hashes every category's
+ * ID and version in ID order; revalidating it reads those two columns only, not the names.
+ * <p>
+ * JSON and CBOR bodies differ byte for byte, so each representation has its own tag: JSON's is the
+ * plain one and CBOR's ends in {@value #CBOR_SUFFIX} inside the quotes. Both are sent with
+ * {@code Vary: Accept}.
+ */
+public final class ETags {
+
+    static final String CBOR_SUFFIX = "-cbor";
+
+    private ETags() {
+    }
+
+    /**
+     * The tag of the representation the Accept header selects, given the JSON tag.
+     */
+    public static String forAccept(String etag, String accept) {
+        return ContentNegotiation.prefersCbor(accept) ? ofCbor(etag) : etag;
+    }
+
+    static String ofCbor(String etag) {
+        return etag.substring(0, etag.length() - 1) + CBOR_SUFFIX + "\"";
+    }
+
+    public static String ofVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofCategoryList(List<CategoryRepository.IdAndVersion> categories) {
+        MessageDigest digest = listDigest();
+        for (CategoryRepository.IdAndVersion category : categories) {
+            update(digest, category.getId(), category.getVersion());
+        }
+        return weakTag(digest);
+    }
+
+    static String ofCategories(List<CategoryDto> categories) {
+        MessageDigest digest = listDigest();
+        categories.stream()
+                .sorted(Comparator.comparing(CategoryDto::getId))
+                .forEach(category -> update(digest, category.getId(), category.getVersion()));
+        return weakTag(digest);
+    }
+
+    private static MessageDigest listDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static void update(MessageDigest digest, long id, long version) {
+        digest.update(ByteBuffer.allocate(2 * Long.BYTES).putLong(id).putLong(version).array());
+    }
+
+    // 128 bits of the hash keep the tag short
+    private static String weakTag(MessageDigest digest) {
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    /**
+     * Weak comparison, as required for If-None-Match.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeakPrefix(trimmed).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the version a client expects from an If-Match header. Either representation's tag is
+     * accepted: both stand for the same version.
+     *
+     * @return {@code null} when the header is absent or {@code *}
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            // If-Match uses strong comparison, so a weak tag can never match
+            throw new PreconditionFailedException("If-Match requires a strong ETag");
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new BadRequestException("Malformed If-Match header: " + ifMatch);
+        }
+        String opaqueTag = value.substring(1, value.length() - 1);
+        if (opaqueTag.endsWith(CBOR_SUFFIX)) {
+            opaqueTag = opaqueTag.substring(0, opaqueTag.length() - CBOR_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(opaqueTag);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.app.controller;
 
+import com.example.app.dto.BulkUpdateResultDto;
+import com.example.app.dto.PriceAdjustmentDto;
+import com.example.app.dto.ProductBatchResultDto;
 import com.example.app.dto.ProductDto;
+import com.example.app.dto.ProductLookupResultDto;
+import com.example.app.dto.ProductMoveDto;
+import com.example.app.dto.ProductPageDto;
+import com.example.app.service.ExportFormat;
 import com.example.app.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,10 +17,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -21,6 +31,8 @@ import java.util.List;
 @Tag(name = "Product Management", description = "APIs for managing products")
 public class ProductController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ProductService productService;
 
     @Autowired
@@ -28,28 +40,113 @@ public class ProductController {
         this.productService = productService;
     }
 
-    @Operation(summary = "List products in a category", responses = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved product list for the category",
+    @Operation(summary = "List products in a category",
+               description = "Keyset-paginated. Follow the cursor returned in the " + NEXT_CURSOR_HEADER
+                       + " header to fetch the next page; the header is absent on the last page. "
+                       + "Send the same sort and price bounds with every page.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of products for the category",
                      content = @Content(mediaType = "application/json", 
                                         schema = @Schema(implementation = ProductDto.class, type = "array"))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit, sort or price range"),
         @ApiResponse(responseCode = "404", description = "Category not found")
     })
     @GetMapping("/categories/{categoryId}/products")
     public ResponseEntity<List<ProductDto>> getProductsByCategoryId(
-            @Parameter(description = "ID of the category to list products from") @PathVariable Long categoryId) {
-        List<ProductDto> products = productService.getAllProductsByCategoryId(categoryId);
+            @Parameter(description = "ID of the category to list products from") @PathVariable Long categoryId,
+            @Parameter(description = "Opaque cursor from a previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default " + ProductService.DEFAULT_PAGE_SIZE + ", capped at "
+                    + ProductService.MAX_PAGE_SIZE + ")") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Sort order: id (default), price or price_desc") @RequestParam(required = false) String sort,
+            @Parameter(description = "Only products priced at or above this") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Only products priced at or below this") @RequestParam(required = false) BigDecimal maxPrice) {
+        ProductPageDto page = productService.getProductsByCategoryId(categoryId, cursor, limit, sort, minPrice, maxPrice);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @Operation(summary = "Get several products by ID",
+               description = "Fetches up to " + ProductService.MAX_LOOKUP_SIZE + " products in one query. "
+                       + "Products are returned in the requested order; unknown IDs are listed in missingIds.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved products",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductLookupResultDto.class))),
+        @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    })
+    @GetMapping("/products")
+    public ResponseEntity<ProductLookupResultDto> getProductsByIds(
+            @Parameter(description = "Comma-separated product IDs") @RequestParam List<Long> ids) {
+        ProductLookupResultDto result = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Search products by name",
+               description = "Case-insensitive substring match on the product name; names starting with the query come first.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Matching products",
+                     content = @Content(mediaType = "application/json",
+                                        schema = @Schema(implementation = ProductDto.class, type = "array"))),
+        @ApiResponse(responseCode = "400", description = "Blank query")
+    })
+    @GetMapping("/products/search")
+    public ResponseEntity<List<ProductDto>> searchProducts(
+            @Parameter(description = "Text to look for in product names") @RequestParam String q,
+            @Parameter(description = "Only return products of this category") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Maximum number of results (default " + ProductService.DEFAULT_SEARCH_LIMIT
+                    + ", capped at " + ProductService.MAX_SEARCH_LIMIT + ")") @RequestParam(required = false) Integer limit) {
+        List<ProductDto> products = productService.searchProducts(q, categoryId, limit);
         return ResponseEntity.ok(products);
     }
 
+    @Operation(summary = "Export products",
+               description = "Streams the catalog in ID order as NDJSON or CSV straight from a database cursor. "
+                       + "Use 'since' with the last exported ID to resume or to fetch only newer products.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Export stream"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Export format: ndjson (default) or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Only export products of this category") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Only export products with an ID greater than this") @RequestParam(required = false) Long since) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        if (categoryId != null) {
+            productService.checkCategoryExists(categoryId); // Fail with 404 before the response is committed
+        }
+        StreamingResponseBody body = out -> productService.exportProducts(categoryId, since, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + exportFormat.getParameter() + "\"")
+                .body(body);
+    }
+
     @Operation(summary = "Get product by ID", responses = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved product",
                      content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDto.class))),
+        @ApiResponse(responseCode = "304", description = "Product unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @GetMapping("/products/{id}")
-    public ResponseEntity<ProductDto> getProductById(@Parameter(description = "ID of product to return") @PathVariable Long id) {
+    public ResponseEntity<ProductDto> getProductById(@Parameter(description = "ID of product to return") @PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (ifNoneMatch != null) {
+            // Only the version column is read to revalidate
+            String currentEtag = ETags.forAccept(ETags.ofVersion(productService.getProductVersion(id)), accept);
+            if (ETags.matches(ifNoneMatch, currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
         ProductDto productDto = productService.getProductById(id);
-        return ResponseEntity.ok(productDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(ETags.ofVersion(productDto.getVersion()), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(productDto);
     }
 
     @Operation(summary = "Add new product to a category", description = "Requires ADMIN role", responses = {
@@ -66,29 +163,86 @@ public class ProductController {
         return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Add many products to a category",
+               description = "Requires ADMIN role. Accepts up to " + ProductService.MAX_BATCH_SIZE + " products. "
+                       + "Every item is validated; valid items are inserted in JDBC batches and each item's outcome is reported by index.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Batch processed",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductBatchResultDto.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    @PostMapping("/categories/{categoryId}/products/batch")
+    public ResponseEntity<ProductBatchResultDto> createProducts(
+            @Parameter(description = "ID of the category to add products to") @PathVariable Long categoryId,
+            @RequestBody List<ProductDto> productDtos) {
+        ProductBatchResultDto result = productService.createProducts(categoryId, productDtos);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Adjust prices across a category",
+               description = "Requires ADMIN role. Adds a percentage or an absolute amount to the price of every product "
+                       + "in the category, optionally only those priced within minPrice..maxPrice. Runs as one UPDATE; "
+                       + "products whose price would not stay above zero are left unchanged.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Prices adjusted; the body holds the number of products updated",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDto.class))),
+        @ApiResponse(responseCode = "400", description = "Neither or both of percent and amount, or an invalid price range"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    @PostMapping("/categories/{categoryId}/products/price-adjustment")
+    public ResponseEntity<BulkUpdateResultDto> adjustPrices(
+            @Parameter(description = "ID of the category whose products to reprice") @PathVariable Long categoryId,
+            @RequestBody PriceAdjustmentDto adjustment) {
+        return ResponseEntity.ok(new BulkUpdateResultDto(productService.adjustPrices(categoryId, adjustment)));
+    }
+
+    @Operation(summary = "Move products to another category",
+               description = "Requires ADMIN role. Accepts up to " + ProductService.MAX_BATCH_SIZE + " product IDs and "
+                       + "moves them with one UPDATE. Unknown IDs and products already in the target category are ignored.",
+               responses = {
+        @ApiResponse(responseCode = "200", description = "Products moved; the body holds the number of products updated",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or too many IDs"),
+        @ApiResponse(responseCode = "404", description = "Target category not found")
+    })
+    @PostMapping("/products/move")
+    public ResponseEntity<BulkUpdateResultDto> moveProducts(@Valid @RequestBody ProductMoveDto move) {
+        int moved = productService.moveProducts(move.getProductIds(), move.getTargetCategoryId());
+        return ResponseEntity.ok(new BulkUpdateResultDto(moved));
+    }
+
     @Operation(summary = "Update product details", description = "Requires ADMIN role", responses = {
         @ApiResponse(responseCode = "200", description = "Product updated successfully",
                      content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDto.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "404", description = "Product or (if specified) new Category not found")
+        @ApiResponse(responseCode = "404", description = "Product or (if specified) new Category not found"),
+        @ApiResponse(responseCode = "412", description = "Product no longer matches the ETag in If-Match")
     })
     @PutMapping("/products/{id}")
     public ResponseEntity<ProductDto> updateProduct(
             @Parameter(description = "ID of product to update") @PathVariable Long id, 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
             @Valid @RequestBody ProductDto productDto) {
         // The ProductDto can optionally contain a categoryId if the user wants to move the product.
         // The service layer will handle this logic.
-        ProductDto updatedProduct = productService.updateProduct(id, productDto);
-        return ResponseEntity.ok(updatedProduct);
+        ProductDto updatedProduct = productService.updateProduct(id, productDto, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(ETags.ofVersion(updatedProduct.getVersion()), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updatedProduct);
     }
 
     @Operation(summary = "Remove product", description = "Requires ADMIN role", responses = {
         @ApiResponse(responseCode = "204", description = "Product removed successfully"),
-        @ApiResponse(responseCode = "404", description = "Product not found")
+        @ApiResponse(responseCode = "404", description = "Product not found"),
+        @ApiResponse(responseCode = "412", description = "Product no longer matches the ETag in If-Match")
     })
     @DeleteMapping("/products/{id}")
-    public ResponseEntity<Void> deleteProduct(@Parameter(description = "ID of product to remove") @PathVariable Long id) {
-        productService.deleteProduct(id);
+    public ResponseEntity<Void> deleteProduct(@Parameter(description = "ID of product to remove") @PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        productService.deleteProduct(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 } 
\ No newline at end of file
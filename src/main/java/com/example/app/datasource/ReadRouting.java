@@ -0,0 +1,43 @@
+package com.example.app.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that sends read-only transactions to the primary instead of a replica.
+ * Has no effect when no replicas are configured.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Runs {@code action} with every read on this thread going to the primary, e.g. to load data that is
+     * cached afterwards and must not be older than the last committed write.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPinnedToPrimary()) {
+            return action.get();
+        }
+        pin();
+        try {
+            return action.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.app.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections everywhere else.
+ * If no replica is available, or the chosen one refuses the connection, the read goes to the primary.
+ * <p>
+ * Must sit behind a {@link LazyConnectionDataSourceProxy}: the transaction manager asks for the
+ * connection before the transaction is marked read-only, and the proxy defers the choice to the
+ * first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaSet replicaSet;
+
+    public ReplicaRoutingDataSource(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadRouting.isPinnedToPrimary()) {
+            ReplicaSet.Replica replica = replicaSet.next();
+            if (replica != null) {
+                try {
+                    return replica.getPool().getConnection();
+                } catch (SQLException ex) {
+                    replicaSet.markUnavailable(replica, ex);
+                }
+            }
+        }
+        return replicaSet.getPrimary().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return replicaSet.getPrimary().getConnection(username, password);
+    }
+}
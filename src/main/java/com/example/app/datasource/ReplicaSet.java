@@ -0,0 +1,154 @@
+package com.example.app.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary pool and the replica pools behind {@link ReplicaRoutingDataSource}. A background check
+ * marks each replica available or not from a test query and its replication lag; reads are spread
+ * round-robin over the available ones.
+ * <p>
+ * The pools are not Spring beans, so the DataSource instrumentation wraps only the routing DataSource
+ * and every statement is counted once. Their {@code hikaricp.*} meters are tagged with the pool name.
+ */
+public class ReplicaSet implements Closeable {
+
+    // Seconds since the last replayed transaction, or 0 while the replica has replayed everything it received
+    public static final String POSTGRESQL_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param lagQuery returns the replica's lag in seconds as a single number; when empty only connectivity is checked
+     */
+    public ReplicaSet(HikariDataSource primary, List<HikariDataSource> replicaPools, String lagQuery, Duration maxLag,
+                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.replicas = new ArrayList<>(replicaPools.size());
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            Gauge.builder("app.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("1 while the replica receives reads, 0 while they go to the primary")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("app.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag measured by the last health check")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return the next available replica in round-robin order, or {@code null} if none is available
+     */
+    Replica next() {
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a replica out of rotation after a failed connection attempt; the next health check may bring it back.
+     */
+    void markUnavailable(Replica replica, SQLException cause) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("Replica {} is unavailable, reading from the primary: {}", replica.name, cause.getMessage());
+        }
+    }
+
+    // Replicas start out unavailable, so reads stay on the primary until the first check has passed
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    private void check(Replica replica) {
+        double lagSeconds;
+        try (Connection connection = replica.pool.getConnection()) {
+            lagSeconds = lagQuery.isEmpty() ? 0 : queryLag(connection);
+        } catch (SQLException ex) {
+            markUnavailable(replica, ex);
+            return;
+        }
+        replica.lagSeconds = lagSeconds;
+        boolean available = lagSeconds <= maxLagSeconds;
+        if (available != replica.available) {
+            replica.available = available;
+            if (available) {
+                log.info("Replica {} is available", replica.name);
+            } else {
+                log.warn("Replica {} is {} s behind the primary, reading from the primary", replica.name, lagSeconds);
+            }
+        }
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                throw new SQLException("Lag query returned no row");
+            }
+            return resultSet.getDouble(1);
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile boolean available;
+        private volatile double lagSeconds;
+
+        private Replica(HikariDataSource pool) {
+            this.name = pool.getPoolName();
+            this.pool = pool;
+        }
+
+        HikariDataSource getPool() {
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private long hits;
+    private long misses;
+    private long evictions; // Entries dropped because they expired or the cache was full
+    private long invalidations; // Write-driven invalidations
+    private int size;
+}
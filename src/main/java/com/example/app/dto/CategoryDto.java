@@ -1,5 +1,6 @@
 package com.example.app.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
@@ -13,4 +14,7 @@ public class CategoryDto {
     @NotBlank(message = "Name is required")
     @Size(max = 100, message = "Name must be less than or equal to 100 characters")
     private String name;
-} 
\ No newline at end of file
+
+    @JsonIgnore // Exposed as the ETag header, not in the body
+    private Long version;
+}
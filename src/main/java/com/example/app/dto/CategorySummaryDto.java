@@ -0,0 +1,21 @@
+package com.example.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySummaryDto {
+    private Long categoryId;
+    private String categoryName;
+    private long productCount;
+    private BigDecimal minPrice; // Price figures are null for an empty category
+    private BigDecimal maxPrice;
+    private BigDecimal averagePrice;
+}
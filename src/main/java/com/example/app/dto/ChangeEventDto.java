@@ -0,0 +1,21 @@
+package com.example.app.dto;
+
+import com.example.app.entity.ChangeEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDto {
+    private Long seq;
+    private ChangeEvent.EntityType entityType;
+    private Long entityId;
+    private ChangeEvent.ChangeType changeType;
+    private Instant recordedAt;
+}
@@ -0,0 +1,22 @@
+package com.example.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPageDto {
+    private List<ChangeEventDto> changes;
+
+    private long nextSince; // Pass back as 'since' to continue
+
+    // True when tombstones after the requested 'since' have already been purged;
+    // the client must reload its full state before following the feed again
+    private boolean resyncRequired;
+}
@@ -0,0 +1,18 @@
+package com.example.app.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class PriceAdjustmentDto {
+    // Exactly one of these: a percentage such as 5 or -10, or an absolute amount added to each price
+    private BigDecimal percent;
+    private BigDecimal amount;
+
+    // Optional inclusive bounds on the current price selecting which products to adjust
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
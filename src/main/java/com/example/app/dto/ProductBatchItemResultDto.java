@@ -0,0 +1,19 @@
+package com.example.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchItemResultDto {
+    public enum Status { CREATED, INVALID }
+
+    private int index; // Position of the item in the request array
+    private Status status;
+    private Long id; // Set when status is CREATED
+    private String errors; // Set when status is INVALID
+}
@@ -0,0 +1,18 @@
+package com.example.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResultDto {
+    private int created;
+    private int rejected;
+    private List<ProductBatchItemResultDto> results;
+}
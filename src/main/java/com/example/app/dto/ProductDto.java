@@ -1,13 +1,14 @@
 package com.example.app.dto;
 
+import com.example.app.money.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Getter
 @Setter
 public class ProductDto {
@@ -18,7 +19,11 @@ public class ProductDto {
 
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0.0")
-    private BigDecimal price;
+    @Schema(type = "number", example = "19.99")
+    private Money price;
 
     private Long categoryId; // To link product to a category during creation/update
-} 
\ No newline at end of file
+
+    @JsonIgnore // Exposed as the ETag header, not in the body
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package com.example.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductLookupResultDto {
+    private List<ProductDto> products; // In the order the IDs were requested
+    private List<Long> missingIds;
+}
@@ -0,0 +1,18 @@
+package com.example.app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ProductMoveDto {
+    @NotEmpty(message = "At least one product ID is required")
+    private List<Long> productIds;
+
+    @NotNull(message = "Target category ID is required")
+    private Long targetCategoryId;
+}
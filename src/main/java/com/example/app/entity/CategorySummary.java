@@ -0,0 +1,39 @@
+package com.example.app.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Denormalized product count and price figures for one category. Product writes adjust the row in
+ * place; {@code CategorySummaryService.reconcile()} periodically recomputes each row from the products table.
+ */
+@Entity
+@Table(name = "category_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CategorySummary {
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    @Column(name = "price_sum", nullable = false)
+    private BigDecimal priceSum = BigDecimal.ZERO;
+
+    @Column(name = "min_price") // Null while the category is empty
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price")
+    private BigDecimal maxPrice;
+
+    public CategorySummary(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.app.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "change_events", indexes = {
+        @Index(name = "idx_change_events_entity", columnList = "entity_type, entity_id, seq")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeEvent {
+    public enum EntityType { CATEGORY, PRODUCT }
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // Assigned by the database on insert
+    private Long id;
+
+    // Assigned from ChangeSequence once the writing transaction has committed; null until then
+    @Column(unique = true)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+}
@@ -0,0 +1,34 @@
+package com.example.app.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single-row counter for the change feed. Only the sequencer in {@code ChangeFeedService} locks this
+ * row, to number committed events; writers never touch it. Numbers therefore become visible to readers
+ * in increasing order, and a reader never skips an event that is still in flight.
+ */
+@Entity
+@Table(name = "change_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeSequence {
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    // Tombstones up to this sequence have been purged; clients behind it must resynchronize
+    @Column(name = "purged_through_seq", nullable = false)
+    private long purgedThroughSeq;
+
+    public ChangeSequence(Long id) {
+        this.id = id;
+    }
+}
@@ -1,25 +1,35 @@
 package com.example.app.entity;
 
+import com.example.app.money.Money;
+import com.example.app.money.MoneyAttributeConverter;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_id_id", columnList = "category_id, id"),
+        @Index(name = "idx_products_category_id_price_id", columnList = "category_id, price, id")
+})
 @Getter
 @Setter
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can assign IDs up front and batch INSERTs
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false, length = 150)
     private String name;
 
-    @Column(nullable = false)
-    private BigDecimal price;
+    @Convert(converter = MoneyAttributeConverter.class) // Still a numeric column in the database
+    @Column(nullable = false, precision = 38, scale = 2)
+    private Money price;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
@@ -0,0 +1,81 @@
+package com.example.app.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.ConversionNotSupportedException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.stream.Collectors;
+
+/**
+ * The response {@link GlobalExceptionHandler} gives the annotated controllers, for code outside its
+ * reach: the reactive profile's functional handlers. Keep the two in step; any status change belongs
+ * in both.
+ */
+@Component
+public class ApiErrorMapper {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiErrorMapper.class);
+
+    public ResponseEntity<Object> toResponse(Exception ex, String path) {
+        if (ex instanceof ResourceNotFoundException) {
+            return error(HttpStatus.NOT_FOUND, ex.getMessage(), path);
+        }
+        if (ex instanceof BadRequestException) {
+            return error(HttpStatus.BAD_REQUEST, ex.getMessage(), path);
+        }
+        if (ex instanceof PreconditionFailedException) {
+            return error(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), path);
+        }
+        if (ex instanceof TooManyRequestsException tooManyRequests) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(tooManyRequests.getRetryAfterSeconds()))
+                    .body(new ApiError(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), path));
+        }
+        if (ex instanceof ObjectOptimisticLockingFailureException) {
+            return error(HttpStatus.CONFLICT, "The resource was modified concurrently. Reload it and retry.", path);
+        }
+        if (ex instanceof MethodArgumentNotValidException invalid) {
+            String errors = invalid.getBindingResult()
+                    .getFieldErrors()
+                    .stream()
+                    .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return error(HttpStatus.BAD_REQUEST, errors, path);
+        }
+        // What ResponseEntityExceptionHandler answers for Spring's own exceptions: problem details
+        if (ex instanceof ErrorResponse errorResponse) {
+            return ResponseEntity.status(errorResponse.getStatusCode())
+                    .headers(errorResponse.getHeaders())
+                    .body(errorResponse.getBody());
+        }
+        if (ex instanceof ConversionNotSupportedException || ex instanceof HttpMessageNotWritableException) {
+            return problem(HttpStatus.INTERNAL_SERVER_ERROR, ex);
+        }
+        if (ex instanceof TypeMismatchException || ex instanceof HttpMessageNotReadableException
+                || ex instanceof BindException) {
+            return problem(HttpStatus.BAD_REQUEST, ex);
+        }
+        log.error("Unexpected error handling {}", path, ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", path);
+    }
+
+    private static ResponseEntity<Object> error(HttpStatus status, String message, String path) {
+        return new ResponseEntity<>(new ApiError(status, message, path), status);
+    }
+
+    private static ResponseEntity<Object> problem(HttpStatus status, Exception ex) {
+        return new ResponseEntity<>(ProblemDetail.forStatusAndDetail(status, ex.getMessage()), status);
+    }
+}
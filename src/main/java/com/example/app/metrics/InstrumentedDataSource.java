@@ -0,0 +1,208 @@
+package com.example.app.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Wraps the pool's connections and statements in JDK proxies. Every statement execution is counted
+ * against the current request and timed for the {@link SlowQueryLog}.
+ * <p>
+ * Extends {@link DelegatingDataSource} so pool metrics and health checks can still unwrap the pool.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = InstrumentedDataSource.class.getClassLoader();
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLogProvider;
+    private volatile SlowQueryLog slowQueryLog;
+
+    public InstrumentedDataSource(DataSource targetDataSource, ObjectProvider<SlowQueryLog> slowQueryLogProvider) {
+        super(targetDataSource);
+        this.slowQueryLogProvider = slowQueryLogProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    // Resolved on first use: the data source is created before the rest of the context
+    private SlowQueryLog slowQueryLog() {
+        SlowQueryLog log = slowQueryLog;
+        if (log == null) {
+            log = slowQueryLogProvider.getIfAvailable();
+            slowQueryLog = log;
+        }
+        return log;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                // prepareStatement and prepareCall take the SQL as their first argument
+                String sql = type != Statement.class && args != null && args[0] instanceof String s ? s : null;
+                return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] {type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private Object[] parameters = new Object[8]; // Bind values by JDBC index - 1
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            // execute, executeQuery, executeUpdate, executeLargeUpdate, executeBatch and executeLargeBatch;
+            // a batch counts once because it is one round trip
+            if (name.startsWith("execute")) {
+                RequestQueryStats.statementExecuted();
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(parameters, null);
+            }
+            return InstrumentedDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            SlowQueryLog log = slowQueryLog();
+            if (log == null) {
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+            boolean sampled = log.sample();
+            long start = System.nanoTime();
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            long elapsedNanos = System.nanoTime() - start;
+            if (!log.shouldRecord(elapsedNanos, sampled)) {
+                return result;
+            }
+
+            String statementSql = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            RequestQueryStats stats = RequestQueryStats.current();
+            SlowQueryLog.Execution execution = new SlowQueryLog.Execution(statementSql, copyParameters(),
+                    elapsedNanos, stats != null ? stats.getEndpoint() : null);
+            if (result instanceof ResultSet resultSet) {
+                // The row count is only known once the caller has read the result set
+                return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] {ResultSet.class},
+                        new RowCountingHandler(resultSet, log, execution));
+            }
+            log.record(execution, rowCount(result));
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+        }
+
+        // Copied because the statement may be re-executed with new values before the log is written
+        private Object[] copyParameters() {
+            int count = parameters.length;
+            while (count > 0 && parameters[count - 1] == null) {
+                count--;
+            }
+            return Arrays.copyOf(parameters, count);
+        }
+
+        private long rowCount(Object result) throws SQLException {
+            if (result instanceof Integer rows) {
+                return rows;
+            }
+            if (result instanceof Long rows) {
+                return rows;
+            }
+            if (result instanceof int[] batch) {
+                return Arrays.stream(batch).filter(rows -> rows > 0).asLongStream().sum();
+            }
+            if (result instanceof long[] batch) {
+                return Arrays.stream(batch).filter(rows -> rows > 0).sum();
+            }
+            // execute(): an update count, or -1 when the statement produced a result set
+            return target.getUpdateCount();
+        }
+    }
+
+    private static final class RowCountingHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final SlowQueryLog log;
+        private final SlowQueryLog.Execution execution;
+        private long rows;
+        private boolean recorded;
+
+        private RowCountingHandler(ResultSet target, SlowQueryLog log, SlowQueryLog.Execution execution) {
+            this.target = target;
+            this.log = log;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            String name = method.getName();
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (name.equals("close") && !recorded) {
+                recorded = true;
+                log.record(execution, rows);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.app.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records, per controller method, how many SQL statements and entity loads each request caused,
+ * so N+1 regressions show up as a jump in {@code app.request.sql.statements}.
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    // Meters are resolved once per controller method rather than looked up in the registry per request
+    private final Map<Method, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches resume a request that was already recorded when its handler returned
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            RequestQueryStats.begin(meters.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> new EndpointMeters(meterRegistry, handlerMethod)).endpoint);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(handler);
+    }
+
+    // The request thread is released here; what runs later on another thread is not attributed
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(handler);
+    }
+
+    private void record(Object handler) {
+        RequestQueryStats stats = RequestQueryStats.end();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        EndpointMeters endpointMeters = meters.get(handlerMethod.getMethod());
+        endpointMeters.statements.record(stats.getStatements());
+        endpointMeters.entitiesLoaded.record(stats.getEntitiesLoaded());
+    }
+
+    private static final class EndpointMeters {
+        private final String endpoint;
+        private final DistributionSummary statements;
+        private final DistributionSummary entitiesLoaded;
+
+        private EndpointMeters(MeterRegistry registry, HandlerMethod handlerMethod) {
+            this.endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            this.statements = DistributionSummary.builder("app.request.sql.statements")
+                    .description("SQL statements executed per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1_000.0)
+                    .register(registry);
+            this.entitiesLoaded = DistributionSummary.builder("app.request.entities.loaded")
+                    .description("Entities loaded by Hibernate per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(10_000.0)
+                    .register(registry);
+        }
+    }
+}
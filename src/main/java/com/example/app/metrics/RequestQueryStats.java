@@ -0,0 +1,61 @@
+package com.example.app.metrics;
+
+/**
+ * Counts the SQL statements and entity loads made on the current thread while a controller request
+ * is being handled. Work outside a request (scheduled jobs, startup, async streaming) is not counted.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private int statements;
+    private int entitiesLoaded;
+
+    private RequestQueryStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    static void begin(String endpoint) {
+        CURRENT.set(new RequestQueryStats(endpoint));
+    }
+
+    static RequestQueryStats end() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * @return the stats of the request being handled on this thread, or {@code null} outside a request
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void statementExecuted() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entitiesLoaded++;
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.app.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs statements slower than {@code app.sql.slow-query-log.threshold}, plus a random sample of the
+ * others, with bind parameters, row count and the controller method that issued them.
+ * <p>
+ * The executing thread only enqueues into a bounded buffer; a single background thread formats and
+ * writes. When the buffer is full records are dropped and counted, so logging never slows queries down.
+ */
+@Component
+public class SlowQueryLog implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final int MAX_PARAMETERS_LENGTH = 500;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final BlockingQueue<Record> buffer;
+    private final Counter dropped;
+    private final Thread writer;
+
+    @Autowired
+    public SlowQueryLog(@Value("${app.sql.slow-query-log.threshold:200ms}") Duration threshold,
+                        @Value("${app.sql.slow-query-log.sample-rate:0}") double sampleRate,
+                        @Value("${app.sql.slow-query-log.buffer-size:1024}") int bufferSize,
+                        MeterRegistry meterRegistry) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dropped = Counter.builder("app.sql.slow_query_log.dropped")
+                .description("Statement records dropped because the slow query log buffer was full")
+                .register(meterRegistry);
+        this.writer = new Thread(this::drain, "slow-query-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    boolean sample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    boolean shouldRecord(long elapsedNanos, boolean sampled) {
+        return sampled || elapsedNanos >= thresholdNanos;
+    }
+
+    void record(Execution execution, long rows) {
+        if (!buffer.offer(new Record(execution, rows))) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                write(buffer.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.warn("Could not write slow query record", ex);
+            }
+        }
+    }
+
+    private void write(Record record) {
+        Execution execution = record.execution;
+        String parameters = Arrays.toString(execution.parameters);
+        if (parameters.length() > MAX_PARAMETERS_LENGTH) {
+            parameters = parameters.substring(0, MAX_PARAMETERS_LENGTH) + "...";
+        }
+        double elapsedMillis = execution.elapsedNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        if (execution.elapsedNanos >= thresholdNanos) {
+            log.warn("Slow statement: {} ms, {} rows, endpoint={}, sql=[{}], parameters={}",
+                    String.format("%.1f", elapsedMillis), record.rows, execution.endpoint, execution.sql, parameters);
+        } else {
+            log.info("Sampled statement: {} ms, {} rows, endpoint={}, sql=[{}], parameters={}",
+                    String.format("%.1f", elapsedMillis), record.rows, execution.endpoint, execution.sql, parameters);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        writer.interrupt();
+    }
+
+    static final class Execution {
+        private final String sql;
+        private final Object[] parameters;
+        private final long elapsedNanos;
+        private final String endpoint; // Null outside a controller request
+
+        Execution(String sql, Object[] parameters, long elapsedNanos, String endpoint) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.elapsedNanos = elapsedNanos;
+            this.endpoint = endpoint;
+        }
+    }
+
+    private static final class Record {
+        private final Execution execution;
+        private final long rows; // -1 when unknown
+
+        private Record(Execution execution, long rows) {
+            this.execution = execution;
+            this.rows = rows;
+        }
+    }
+}
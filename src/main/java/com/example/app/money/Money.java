@@ -0,0 +1,195 @@
+package com.example.app.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount with two decimal places, held as a {@code long} count of minor units (cents).
+ * <p>
+ * Replaces {@code BigDecimal} for product prices on the read path: the value is one primitive, and
+ * JSON is written from its digits without building a {@code BigDecimal}, {@code BigInteger} or string.
+ * JSON looks exactly like the {@code numeric(38,2)} value it replaces, e.g. {@code 19.99} or {@code 100.00}.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    private static final long MINOR_PER_MAJOR = 100;
+
+    // "-92233720368547758.08"
+    static final int MAX_CHARS = 21;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has non-zero digits beyond the second decimal place
+     *                             or does not fit in a {@code long} count of cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+        return ofMinor(amount.setScale(SCALE, roundingMode).movePointRight(SCALE).longValueExact());
+    }
+
+    /**
+     * Parses a plain decimal such as {@code 19.99}, {@code -5} or {@code 0.125}, ignoring surrounding
+     * whitespace like {@code BigDecimal} properties did. Digits beyond the second decimal place are rounded
+     * half-up, as the {@code numeric(38,2)} column does on write, so validation sees the stored value:
+     * {@code 0.004} is {@code 0.00}. Exponent notation falls back to {@code BigDecimal}.
+     *
+     * @throws NumberFormatException if the text is not a decimal number
+     * @throws ArithmeticException   if the value does not fit in a {@code long} count of cents
+     */
+    public static Money parse(char[] text, int offset, int length) {
+        int end = offset + length;
+        while (offset < end && text[offset] <= ' ') { // Same characters as String.trim()
+            offset++;
+        }
+        while (end > offset && text[end - 1] <= ' ') {
+            end--;
+        }
+        length = end - offset;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (text[i] == '-' || text[i] == '+')) {
+            negative = text[i] == '-';
+            i++;
+        }
+        long units = 0;
+        int fractionDigits = -1; // -1 until the decimal point
+        boolean roundUp = false;
+        boolean anyDigit = false;
+        for (; i < end; i++) {
+            char c = text[i];
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (fractionDigits < SCALE) {
+                    units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else if (fractionDigits == SCALE) {
+                    roundUp = c >= '5'; // Only the first dropped digit decides half-up rounding
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c == 'e' || c == 'E') {
+                return of(new BigDecimal(text, offset, length), RoundingMode.HALF_UP);
+            } else {
+                throw new NumberFormatException("Not a decimal number: " + new String(text, offset, length));
+            }
+        }
+        if (!anyDigit) {
+            throw new NumberFormatException("Not a decimal number: " + new String(text, offset, length));
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < SCALE; scale++) {
+            units = Math.multiplyExact(units, 10);
+        }
+        if (roundUp) {
+            units = Math.addExact(units, 1);
+        }
+        return ofMinor(negative ? -units : units);
+    }
+
+    public static Money parse(String text) {
+        return parse(text.toCharArray(), 0, text.length());
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Writes the plain decimal form into {@code buffer}, which needs room for {@value #MAX_CHARS} chars.
+     *
+     * @return the number of chars written, starting at index 0
+     */
+    public int writeTo(char[] buffer) {
+        long units = minorUnits;
+        int length = 0;
+        if (units < 0) {
+            buffer[length++] = '-';
+        }
+        // Work on the negative value so Long.MIN_VALUE needs no special case
+        long negated = units < 0 ? units : -units;
+        long major = negated / MINOR_PER_MAJOR; // <= 0
+        int minor = (int) -(negated % MINOR_PER_MAJOR);
+
+        int majorStart = length;
+        do {
+            buffer[length++] = (char) ('0' - major % 10);
+            major /= 10;
+        } while (major != 0);
+        for (int left = majorStart, right = length - 1; left < right; left++, right--) {
+            char swap = buffer[left];
+            buffer[left] = buffer[right];
+            buffer[right] = swap;
+        }
+        buffer[length++] = '.';
+        buffer[length++] = (char) ('0' + minor / 10);
+        buffer[length++] = (char) ('0' + minor % 10);
+        return length;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        char[] buffer = new char[MAX_CHARS];
+        return new String(buffer, 0, writeTo(buffer));
+    }
+}
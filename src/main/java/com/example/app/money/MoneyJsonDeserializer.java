@@ -0,0 +1,38 @@
+package com.example.app.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+
+/**
+ * Reads a {@link Money} from a JSON number or numeric string by parsing the parser's own char buffer.
+ * Accepts the same input a {@code BigDecimal} property did.
+ */
+public class MoneyJsonDeserializer extends StdScalarDeserializer<Money> {
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_STRING) {
+            try {
+                if (token != JsonToken.VALUE_STRING && parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                    // Binary formats hand over a decoded decimal rather than text
+                    return Money.of(parser.getDecimalValue(), RoundingMode.HALF_UP);
+                }
+                return Money.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } catch (NumberFormatException | ArithmeticException ex) {
+                return (Money) context.handleWeirdStringValue(Money.class, parser.getText(),
+                        "not a valid amount with at most %d decimal places", Money.SCALE);
+            }
+        }
+        return (Money) context.handleUnexpectedToken(Money.class, parser);
+    }
+}
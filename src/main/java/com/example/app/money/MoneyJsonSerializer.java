@@ -0,0 +1,31 @@
+package com.example.app.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Money} as a JSON number straight from its digits. Formats that encode decimals
+ * natively (CBOR) get a {@code BigDecimal} instead, which they write as an integer mantissa and exponent.
+ */
+public class MoneyJsonSerializer extends StdSerializer<Money> {
+
+    // Generators copy the chars before returning, so one buffer per thread is enough
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[Money.MAX_CHARS]);
+
+    public MoneyJsonSerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (generator.canWriteFormattedNumbers()) {
+            char[] buffer = BUFFER.get();
+            generator.writeNumber(buffer, 0, value.writeTo(buffer));
+        } else {
+            generator.writeNumber(value.toBigDecimal());
+        }
+    }
+}
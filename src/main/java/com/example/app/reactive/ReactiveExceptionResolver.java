@@ -0,0 +1,74 @@
+package com.example.app.reactive;
+
+import com.example.app.exception.ApiError;
+import com.example.app.exception.ApiErrorMapper;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Renders failures of the functional handlers as {@link ApiError} with {@link ApiErrorMapper}, a copy of
+ * {@code GlobalExceptionHandler}'s mapping; that one only covers the annotated controllers' handler methods.
+ * This also catches errors an async result completes with and admission control's rejections.
+ */
+public class ReactiveExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionResolver.class);
+
+    private final ApiErrorMapper apiErrorMapper;
+    private final List<HttpMessageConverter<?>> messageConverters;
+
+    public ReactiveExceptionResolver(ApiErrorMapper apiErrorMapper, List<HttpMessageConverter<?>> messageConverters) {
+        this.apiErrorMapper = apiErrorMapper;
+        this.messageConverters = messageConverters;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Exception ex) {
+        if (!(handler instanceof HandlerFunction) || response.isCommitted()) {
+            return null;
+        }
+        ResponseEntity<Object> error = apiErrorMapper.toResponse(ex, request.getRequestURI());
+        try {
+            try {
+                toResponse(error, null).writeTo(request, response, () -> messageConverters);
+            } catch (HttpMediaTypeNotAcceptableException notAcceptable) {
+                // e.g. a failed export whose client only accepts CSV
+                toResponse(error, MediaType.APPLICATION_JSON).writeTo(request, response, () -> messageConverters);
+            }
+        } catch (ServletException | IOException writeFailure) {
+            log.warn("Could not write the error response for {}", request.getRequestURI(), writeFailure);
+            return null;
+        }
+        return new ModelAndView();
+    }
+
+    @Override
+    public int getOrder() {
+        return 0; // Ahead of the default resolvers
+    }
+
+    private static ServerResponse toResponse(ResponseEntity<Object> error, MediaType contentType) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(error.getStatusCode())
+                .headers(headers -> headers.addAll(error.getHeaders()));
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        return builder.body(error.getBody());
+    }
+}
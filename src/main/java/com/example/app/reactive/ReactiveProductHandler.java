@@ -0,0 +1,268 @@
+package com.example.app.reactive;
+
+import com.example.app.controller.ETags;
+import com.example.app.controller.ProductController;
+import com.example.app.dto.ProductDto;
+import com.example.app.dto.ProductLookupResultDto;
+import com.example.app.exception.BadRequestException;
+import com.example.app.exception.ResourceNotFoundException;
+import com.example.app.money.Money;
+import com.example.app.search.ProductSearchIndex;
+import com.example.app.service.ExportFormat;
+import com.example.app.service.ProductCursor;
+import com.example.app.service.ProductExportWriter;
+import com.example.app.service.ProductReadParameters;
+import com.example.app.service.ProductSort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Non-blocking versions of the product GET endpoints of {@code ProductController}. Each handler returns
+ * at once with an async {@link ServerResponse}; the request thread goes back to the container while the
+ * query runs, and the response is written when its result arrives. Responses, headers and error bodies
+ * match the annotated endpoints.
+ */
+public class ReactiveProductHandler {
+
+    // Rows per chunk handed to the servlet response; each chunk is written and flushed before the next is requested
+    private static final int EXPORT_CHUNK_SIZE = 100;
+    private static final int EXPORT_CHUNK_PREFETCH = 2;
+
+    private final ReactiveProductRepository repository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductExportWriter exportWriter;
+
+    public ReactiveProductHandler(ReactiveProductRepository repository, ProductSearchIndex productSearchIndex,
+                                  ProductExportWriter exportWriter) {
+        this.repository = repository;
+        this.productSearchIndex = productSearchIndex;
+        this.exportWriter = exportWriter;
+    }
+
+    public ServerResponse getProductsByCategoryId(ServerRequest request) {
+        Long categoryId = longPathVariable(request, "categoryId");
+        ProductSort sort = ProductSort.fromParameter(request.param("sort").orElse(null));
+        ProductCursor after = request.param("cursor").map(cursor -> ProductCursor.decode(cursor, sort)).orElse(null);
+        int pageSize = ProductReadParameters.pageSize(intParam(request, "limit"));
+        BigDecimal minPrice = decimalParam(request, "minPrice");
+        BigDecimal maxPrice = decimalParam(request, "maxPrice");
+        ProductReadParameters.checkPriceRange(minPrice, maxPrice);
+        Money lowerBound = ProductReadParameters.lowerPriceBound(minPrice);
+        Money upperBound = ProductReadParameters.upperPriceBound(maxPrice);
+
+        // The cursor header goes out before the body, so the page (at most MAX_PAGE_SIZE + 1 rows) is collected first
+        Mono<ServerResponse> response = repository.findPageInCategory(categoryId, lowerBound, upperBound, sort,
+                        after != null ? after.getPrice() : null, after != null ? after.getId() : null, pageSize + 1)
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? requireCategory(categoryId, " when fetching products.").thenReturn(rows)
+                        : Mono.just(rows))
+                .map(rows -> {
+                    boolean hasMore = rows.size() > pageSize;
+                    List<ProductDto> page = hasMore ? rows.subList(0, pageSize) : rows;
+                    ServerResponse.BodyBuilder builder = ServerResponse.ok();
+                    if (hasMore) {
+                        String nextCursor = ProductCursor.after(sort, page.get(page.size() - 1)).encode();
+                        builder.header(ProductController.NEXT_CURSOR_HEADER, nextCursor);
+                    }
+                    return builder.body(page);
+                });
+        return ServerResponse.async(response);
+    }
+
+    public ServerResponse getProductsByIds(ServerRequest request) {
+        List<Long> ids = new ArrayList<>();
+        for (String value : request.params().getOrDefault("ids", List.of())) {
+            for (String id : value.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(parseLong("ids", id.trim()));
+                }
+            }
+        }
+        Set<Long> requestedIds = ProductReadParameters.lookupIds(ids);
+
+        Mono<ServerResponse> response = repository.findAllById(requestedIds)
+                .collectMap(ProductDto::getId)
+                .map(found -> {
+                    List<ProductDto> products = new ArrayList<>(found.size());
+                    List<Long> missingIds = new ArrayList<>();
+                    for (Long id : requestedIds) {
+                        ProductDto productDto = found.get(id);
+                        if (productDto != null) {
+                            products.add(productDto);
+                        } else {
+                            missingIds.add(id);
+                        }
+                    }
+                    return ServerResponse.ok().body(new ProductLookupResultDto(products, missingIds));
+                });
+        return ServerResponse.async(response);
+    }
+
+    public ServerResponse searchProducts(ServerRequest request) {
+        String query = request.param("q").orElse(null);
+        int limit = ProductReadParameters.searchLimit(query, intParam(request, "limit"));
+        List<Long> matchingIds = productSearchIndex.search(query, longParam(request, "categoryId"), limit);
+        if (matchingIds.isEmpty()) {
+            return ServerResponse.ok().body(List.of());
+        }
+
+        Mono<ServerResponse> response = repository.findAllById(matchingIds)
+                .collectMap(ProductDto::getId)
+                .map(found -> ServerResponse.ok().body(inOrder(matchingIds, found)));
+        return ServerResponse.async(response);
+    }
+
+    /**
+     * Streams the export as chunks of encoded rows. Each chunk is only read from the database once the
+     * previous one has been written to the client, so a slow client slows the cursor down instead of
+     * piling rows up in memory.
+     */
+    public ServerResponse exportProducts(ServerRequest request) {
+        ExportFormat format = ExportFormat.fromParameter(request.param("format").orElse("ndjson"));
+        Long categoryId = longParam(request, "categoryId");
+        Long since = longParam(request, "since");
+
+        Flux<byte[]> body = Flux.concat(
+                        Mono.fromCallable(() -> encode(format, List.of(), true)),
+                        repository.streamProducts(categoryId, since != null ? since : 0L)
+                                .buffer(EXPORT_CHUNK_SIZE)
+                                .map(chunk -> encode(format, chunk, false)))
+                .filter(chunk -> chunk.length > 0)
+                // Servlet writes block; keep them off the database driver's event loop
+                .publishOn(Schedulers.boundedElastic(), EXPORT_CHUNK_PREFETCH);
+
+        // Fail with 404 before the response is committed
+        Mono<Void> check = categoryId != null ? requireCategory(categoryId, "") : Mono.empty();
+        Mono<ServerResponse> response = check.then(Mono.fromSupplier(() -> ServerResponse.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format.getParameter() + "\"")
+                .body(body)));
+        return ServerResponse.async(response);
+    }
+
+    public ServerResponse getProductById(ServerRequest request) {
+        Long id = longPathVariable(request, "id");
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        String accept = request.headers().firstHeader(HttpHeaders.ACCEPT);
+        if (ifNoneMatch == null) {
+            return ServerResponse.async(findProduct(id).map(productDto -> productResponse(productDto, accept)));
+        }
+
+        // Only the version column is read to revalidate
+        Mono<ServerResponse> response = repository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> productNotFound(id)))
+                .flatMap(version -> {
+                    String currentEtag = ETags.forAccept(ETags.ofVersion(version), accept);
+                    if (ETags.matches(ifNoneMatch, currentEtag)) {
+                        return Mono.just(ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(currentEtag).varyBy(HttpHeaders.ACCEPT).build());
+                    }
+                    return findProduct(id).map(productDto -> productResponse(productDto, accept));
+                });
+        return ServerResponse.async(response);
+    }
+
+    private Mono<ProductDto> findProduct(Long id) {
+        return repository.findById(id).switchIfEmpty(Mono.error(() -> productNotFound(id)));
+    }
+
+    private static ServerResponse productResponse(ProductDto productDto, String accept) {
+        return ServerResponse.ok()
+                .eTag(ETags.forAccept(ETags.ofVersion(productDto.getVersion()), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(productDto);
+    }
+
+    private Mono<Void> requireCategory(Long categoryId, String context) {
+        return repository.categoryExists(categoryId)
+                .flatMap(exists -> exists ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException("Category not found with ID " + categoryId + context)));
+    }
+
+    private static ResourceNotFoundException productNotFound(Long id) {
+        return new ResourceNotFoundException("Product not found with ID " + id);
+    }
+
+    private static List<ProductDto> inOrder(List<Long> ids, Map<Long, ProductDto> found) {
+        List<ProductDto> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductDto product = found.get(id);
+            if (product != null) { // Deleted after the index lookup
+                results.add(product);
+            }
+        }
+        return results;
+    }
+
+    private byte[] encode(ExportFormat format, List<ProductDto> products, boolean header) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            if (header) {
+                exportWriter.writeHeader(writer, format);
+            }
+            for (ProductDto product : products) {
+                exportWriter.writeRow(writer, format, product);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static Long longPathVariable(ServerRequest request, String name) {
+        return parseLong(name, request.pathVariable(name));
+    }
+
+    private static Long longParam(ServerRequest request, String name) {
+        return request.param(name).map(value -> parseLong(name, value)).orElse(null);
+    }
+
+    private static Integer intParam(ServerRequest request, String name) {
+        return request.param(name).map(value -> {
+            try {
+                return Integer.valueOf(value.trim());
+            } catch (NumberFormatException ex) {
+                throw invalidParameter(name, value);
+            }
+        }).orElse(null);
+    }
+
+    private static BigDecimal decimalParam(ServerRequest request, String name) {
+        return request.param(name).map(value -> {
+            try {
+                return new BigDecimal(value.trim());
+            } catch (NumberFormatException ex) {
+                throw invalidParameter(name, value);
+            }
+        }).orElse(null);
+    }
+
+    private static Long parseLong(String name, String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw invalidParameter(name, value);
+        }
+    }
+
+    private static BadRequestException invalidParameter(String name, String value) {
+        return new BadRequestException("Invalid value '" + value + "' for parameter '" + name + "'.");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.app.reactive;
+
+import com.example.app.dto.ProductDto;
+import com.example.app.money.Money;
+import com.example.app.service.ProductSort;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Read-only product queries over R2DBC for the reactive profile. Rows are mapped straight to
+ * {@link ProductDto}; there are no entities, so nothing here touches the persistence context or the
+ * second-level cache.
+ */
+public class ReactiveProductRepository implements DisposableBean {
+
+    private static final String SELECT_PRODUCTS = "SELECT id, name, price, category_id, version FROM products";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveProductRepository(ConnectionPool pool, int fetchSize) {
+        this.pool = pool;
+        this.databaseClient = DatabaseClient.create(pool);
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<ProductDto> findById(Long id) {
+        return databaseClient.sql(SELECT_PRODUCTS + " WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toDto(row))
+                .one();
+    }
+
+    public Mono<Long> findVersionById(Long id) {
+        return databaseClient.sql("SELECT version FROM products WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> row.get("version", Long.class))
+                .one();
+    }
+
+    // The collection is expanded into one bind marker per ID
+    public Flux<ProductDto> findAllById(Collection<Long> ids) {
+        return databaseClient.sql(SELECT_PRODUCTS + " WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    /**
+     * Same keyset query as {@code ProductRepositoryCustomImpl#findPageInCategory}, with the row-value keyset
+     * condition and ordering from {@link ProductSort}: only the predicates that are set are added, so each
+     * combination stays a single range scan on the (category_id, ..., id) indexes.
+     */
+    public Flux<ProductDto> findPageInCategory(Long categoryId, Money minPrice, Money maxPrice, ProductSort sort,
+                                               Money afterPrice, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_PRODUCTS).append(" WHERE category_id = :categoryId");
+        if (minPrice != null) {
+            sql.append(" AND price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            sql.append(" AND price <= :maxPrice");
+        }
+        boolean after = afterId != null;
+        if (after) {
+            sql.append(" AND ").append(sort.afterPredicate("price", "id"));
+        }
+        sql.append(" ORDER BY ").append(sort.orderBy("price", "id")).append(" LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec query = databaseClient.sql(sql.toString())
+                .bind("categoryId", categoryId)
+                .bind("limit", limit);
+        if (minPrice != null) {
+            query = query.bind("minPrice", minPrice.toBigDecimal());
+        }
+        if (maxPrice != null) {
+            query = query.bind("maxPrice", maxPrice.toBigDecimal());
+        }
+        if (after) {
+            query = query.bind("afterId", afterId);
+            if (sort != ProductSort.ID) {
+                query = query.bind("afterPrice", afterPrice.toBigDecimal());
+            }
+        }
+        return query.map((row, metadata) -> toDto(row)).all();
+    }
+
+    /**
+     * Products with an ID greater than {@code sinceId}, optionally of one category, in ID order. Rows are
+     * fetched from a cursor {@code fetchSize} at a time as the subscriber requests them.
+     */
+    public Flux<ProductDto> streamProducts(Long categoryId, long sinceId) {
+        DatabaseClient.GenericExecuteSpec query = categoryId != null
+                ? databaseClient.sql(SELECT_PRODUCTS + " WHERE category_id = :categoryId AND id > :since ORDER BY id")
+                        .bind("categoryId", categoryId)
+                : databaseClient.sql(SELECT_PRODUCTS + " WHERE id > :since ORDER BY id");
+        return query.bind("since", sinceId)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    public Mono<Boolean> categoryExists(Long categoryId) {
+        return databaseClient.sql("SELECT 1 FROM categories WHERE id = :id")
+                .bind("id", categoryId)
+                .map((row, metadata) -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static ProductDto toDto(Row row) {
+        ProductDto dto = new ProductDto();
+        dto.setId(row.get("id", Long.class));
+        dto.setName(row.get("name", String.class));
+        dto.setPrice(Money.of(row.get("price", BigDecimal.class)));
+        dto.setCategoryId(row.get("category_id", Long.class));
+        dto.setVersion(row.get("version", Long.class));
+        return dto;
+    }
+}
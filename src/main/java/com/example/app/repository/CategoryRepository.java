@@ -1,12 +1,40 @@
 package com.example.app.repository;
 
 import com.example.app.entity.Category;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    Optional<Category> findByName(String name);
+    // Hashed in ID order into the list-level ETag, which then changes whenever a category is created, renamed or deleted
+    interface IdAndVersion {
+        Long getId();
+        Long getVersion();
+    }
+
+    @Query("SELECT c.id AS id, c.version AS version FROM Category c ORDER BY c.id")
+    List<IdAndVersion> findAllIdsAndVersions();
+
+    @Query("SELECT c.id FROM Category c ORDER BY c.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Held until commit; products cannot be added to or moved into the category meanwhile (their foreign key check waits)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionByIdForUpdate(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Category c WHERE c.id = :id AND c.version = :version")
+    int deleteByIdAndVersionInBulk(@Param("id") Long id, @Param("version") Long version);
 } 
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.example.app.repository;
+
+import com.example.app.entity.CategorySummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface CategorySummaryRepository extends JpaRepository<CategorySummary, Long> {
+    interface SummaryRow {
+        Long getCategoryId();
+        String getCategoryName();
+        Long getProductCount();
+        BigDecimal getPriceSum();
+        BigDecimal getMinPrice();
+        BigDecimal getMaxPrice();
+    }
+
+    @Query("SELECT s.categoryId AS categoryId, c.name AS categoryName, s.productCount AS productCount, " +
+           "s.priceSum AS priceSum, s.minPrice AS minPrice, s.maxPrice AS maxPrice " +
+           "FROM CategorySummary s JOIN Category c ON c.id = s.categoryId ORDER BY s.categoryId")
+    List<SummaryRow> findAllRows();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CategorySummary s WHERE s.categoryId = :categoryId")
+    Optional<CategorySummary> findByIdForUpdate(@Param("categoryId") Long categoryId);
+
+    // Additions can only widen the price range, so no products need to be read
+    @Modifying
+    @Query("UPDATE CategorySummary s SET s.productCount = s.productCount + :count, s.priceSum = s.priceSum + :priceSum, " +
+           "s.minPrice = CASE WHEN s.minPrice IS NULL OR s.minPrice > :minPrice THEN :minPrice ELSE s.minPrice END, " +
+           "s.maxPrice = CASE WHEN s.maxPrice IS NULL OR s.maxPrice < :maxPrice THEN :maxPrice ELSE s.maxPrice END " +
+           "WHERE s.categoryId = :categoryId")
+    int addProducts(@Param("categoryId") Long categoryId,
+                    @Param("count") long count,
+                    @Param("priceSum") BigDecimal priceSum,
+                    @Param("minPrice") BigDecimal minPrice,
+                    @Param("maxPrice") BigDecimal maxPrice);
+
+    // Removals and price changes may shrink the range; MIN and MAX are each a single probe of the
+    // (category_id, price, id) index on products. Aggregates over products.price are native SQL:
+    // JPQL would type them as the converted Money attribute.
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "category_summaries"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE category_summaries SET product_count = product_count + :countDelta, " +
+                   "price_sum = price_sum + :priceSumDelta, " +
+                   "min_price = (SELECT MIN(p.price) FROM products p WHERE p.category_id = :categoryId), " +
+                   "max_price = (SELECT MAX(p.price) FROM products p WHERE p.category_id = :categoryId) " +
+                   "WHERE category_id = :categoryId",
+           nativeQuery = true)
+    int adjust(@Param("categoryId") Long categoryId,
+               @Param("countDelta") long countDelta,
+               @Param("priceSumDelta") BigDecimal priceSumDelta);
+
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "category_summaries"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE category_summaries SET " +
+                   "product_count = (SELECT COUNT(*) FROM products p WHERE p.category_id = :categoryId), " +
+                   "price_sum = (SELECT COALESCE(SUM(p.price), 0) FROM products p WHERE p.category_id = :categoryId), " +
+                   "min_price = (SELECT MIN(p.price) FROM products p WHERE p.category_id = :categoryId), " +
+                   "max_price = (SELECT MAX(p.price) FROM products p WHERE p.category_id = :categoryId) " +
+                   "WHERE category_id = :categoryId",
+           nativeQuery = true)
+    int recompute(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM CategorySummary s WHERE s.categoryId = :categoryId")
+    int deleteByCategoryIdInBulk(@Param("categoryId") Long categoryId);
+
+    // Rows of categories deleted while a reconciliation was running
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "category_summaries"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM category_summaries s " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM categories c WHERE c.id = s.category_id)",
+           nativeQuery = true)
+    int deleteOrphans();
+
+    // One category's aggregate pass for the reconciliation job; inserts nothing if the category is gone.
+    // PostgreSQL only, like the advisory lock below.
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "category_summaries"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO category_summaries (category_id, product_count, price_sum, min_price, max_price) " +
+                   "SELECT c.id, COUNT(p.id), COALESCE(SUM(p.price), 0), MIN(p.price), MAX(p.price) " +
+                   "FROM categories c LEFT JOIN products p ON p.category_id = c.id WHERE c.id = :categoryId GROUP BY c.id " +
+                   "ON CONFLICT (category_id) DO UPDATE SET product_count = EXCLUDED.product_count, " +
+                   "price_sum = EXCLUDED.price_sum, min_price = EXCLUDED.min_price, max_price = EXCLUDED.max_price",
+           nativeQuery = true)
+    int upsertFromProducts(@Param("categoryId") Long categoryId);
+
+    // Released when the transaction ends
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryTransactionLock(@Param("key") long key);
+}
@@ -0,0 +1,44 @@
+package com.example.app.repository;
+
+import com.example.app.entity.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long>, ChangeEventRepositoryCustom {
+    List<ChangeEvent> findBySeqGreaterThanOrderBySeqAsc(Long seq, Pageable pageable);
+
+    boolean existsBySeqIsNull();
+
+    // Committed events still waiting for a sequence number, in insert order
+    List<ChangeEvent> findBySeqIsNullOrderByIdAsc(Pageable pageable);
+
+    // Only the latest event per entity matters to a consumer catching up
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e WHERE EXISTS (" +
+           "SELECT 1 FROM ChangeEvent n WHERE n.entityType = e.entityType AND n.entityId = e.entityId AND n.seq > e.seq)")
+    int deleteSuperseded();
+
+    // Products removed together with their category have no tombstone of their own; the category's covers them
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e WHERE e.entityType = com.example.app.entity.ChangeEvent.EntityType.PRODUCT " +
+           "AND e.changeType <> com.example.app.entity.ChangeEvent.ChangeType.DELETED " +
+           "AND NOT EXISTS (SELECT 1 FROM Product p WHERE p.id = e.entityId)")
+    int deleteForRemovedProducts();
+
+    @Query("SELECT MAX(e.seq) FROM ChangeEvent e " +
+           "WHERE e.changeType = com.example.app.entity.ChangeEvent.ChangeType.DELETED AND e.recordedAt < :cutoff")
+    Long findLatestTombstoneSeqBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e " +
+           "WHERE e.changeType = com.example.app.entity.ChangeEvent.ChangeType.DELETED AND e.seq <= :seq")
+    int deleteTombstonesThrough(@Param("seq") Long seq);
+}
@@ -0,0 +1,15 @@
+package com.example.app.repository;
+
+import com.example.app.entity.ChangeEvent;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface ChangeEventRepositoryCustom {
+    /**
+     * Inserts one unsequenced event per entity, in the collection's order. The database assigns the IDs,
+     * so events of a later transaction always get higher IDs than those of one that committed before it.
+     */
+    void insertUnsequenced(ChangeEvent.EntityType entityType, Collection<Long> entityIds,
+                           ChangeEvent.ChangeType changeType, Instant recordedAt);
+}
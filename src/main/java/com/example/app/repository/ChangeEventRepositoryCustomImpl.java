@@ -0,0 +1,51 @@
+package com.example.app.repository;
+
+import com.example.app.entity.ChangeEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+public class ChangeEventRepositoryCustomImpl implements ChangeEventRepositoryCustom {
+
+    // Rows per multi-row INSERT; keep in sync with hibernate.jdbc.batch_size
+    private static final int ROWS_PER_INSERT = 50;
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ChangeEventRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Native multi-row INSERTs: a persisted entity with a database-generated ID would be inserted one
+    // statement at a time. The spaces hint keeps the second-level cache from being invalidated.
+    @Override
+    public void insertUnsequenced(ChangeEvent.EntityType entityType, Collection<Long> entityIds,
+                                  ChangeEvent.ChangeType changeType, Instant recordedAt) {
+        List<Long> ids = new ArrayList<>(entityIds);
+        for (int from = 0; from < ids.size(); from += ROWS_PER_INSERT) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ROWS_PER_INSERT, ids.size()));
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO change_events (entity_type, entity_id, change_type, recorded_at) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(:entityType, :entityId").append(i).append(", :changeType, :recordedAt)");
+            }
+            Query query = entityManager.createNativeQuery(sql.toString())
+                    .setHint(HINT_NATIVE_SPACES, "change_events")
+                    .setParameter("entityType", entityType.name())
+                    .setParameter("changeType", changeType.name())
+                    .setParameter("recordedAt", recordedAt);
+            for (int i = 0; i < chunk.size(); i++) {
+                query.setParameter("entityId" + i, chunk.get(i));
+            }
+            query.executeUpdate();
+        }
+    }
+}
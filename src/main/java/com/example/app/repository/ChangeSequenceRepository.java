@@ -0,0 +1,18 @@
+package com.example.app.repository;
+
+import com.example.app.entity.ChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ChangeSequence s WHERE s.id = :id")
+    Optional<ChangeSequence> findByIdForUpdate(@Param("id") Long id);
+}
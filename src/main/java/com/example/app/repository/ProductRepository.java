@@ -1,12 +1,133 @@
 package com.example.app.repository;
 
+import com.example.app.entity.Category;
 import com.example.app.entity.Product;
+import com.example.app.money.Money;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findByCategoryId(Long categoryId);
-} 
\ No newline at end of file
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    // What a write needs to know about the row it replaces, without loading the entity
+    interface ProductState {
+        Long getCategoryId();
+        Money getPrice();
+        Long getVersion();
+    }
+
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.category.id AS categoryId, p.price AS price, p.version AS version FROM Product p WHERE p.id = :id")
+    Optional<ProductState> findStateById(@Param("id") Long id);
+
+    // For unconditional writes: the row stays locked until commit, so the write that follows cannot miss it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.category.id AS categoryId, p.price AS price, p.version AS version FROM Product p WHERE p.id = :id")
+    Optional<ProductState> findStateByIdForUpdate(@Param("id") Long id);
+
+    // Export cursors: rows are pulled from the database in fetch-size chunks as the stream is consumed.
+    // Callers must consume the stream inside a transaction and close it.
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.id > :sinceId ORDER BY p.id")
+    Stream<Product> streamByIdGreaterThan(@Param("sinceId") Long sinceId);
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.id > :sinceId ORDER BY p.id")
+    Stream<Product> streamByCategoryIdAndIdGreaterThan(@Param("categoryId") Long categoryId,
+                                                       @Param("sinceId") Long sinceId);
+
+    // Scalar projection (id, name, category id) for building the search index without hydrating entities
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.name, p.category.id FROM Product p ORDER BY p.id")
+    Stream<Object[]> streamSearchFields();
+
+    // Single-statement writes: a null expectedVersion skips the version check. Callers look at the
+    // affected-row count to tell success from a missing row or a version mismatch.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.name = :name, p.price = :price, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND (:expectedVersion IS NULL OR p.version = :expectedVersion)")
+    int updateDetails(@Param("id") Long id,
+                      @Param("name") String name,
+                      @Param("price") Money price,
+                      @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.name = :name, p.price = :price, p.category = :category, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND (:expectedVersion IS NULL OR p.version = :expectedVersion)")
+    int updateDetailsAndCategory(@Param("id") Long id,
+                                 @Param("name") String name,
+                                 @Param("price") Money price,
+                                 @Param("category") Category category,
+                                 @Param("expectedVersion") Long expectedVersion);
+
+    // Set-based price changes: new price = round(price * factor + amount, 2). Rows whose new price would
+    // not be positive are left alone. The selected rows stay locked until commit, taken in ID order like
+    // every other multi-product lock, and the UPDATE below changes exactly these rows.
+    // Native SQL because the arithmetic works on the numeric column, not the converted Money attribute.
+    @Query(value = "SELECT p.id FROM products p WHERE p.category_id = :categoryId " +
+                   "AND (CAST(:minPrice AS numeric) IS NULL OR p.price >= :minPrice) " +
+                   "AND (CAST(:maxPrice AS numeric) IS NULL OR p.price <= :maxPrice) " +
+                   "AND ROUND(p.price * :factor + :amount, 2) > 0 ORDER BY p.id FOR UPDATE",
+           nativeQuery = true)
+    List<Long> findIdsForPriceAdjustmentForUpdate(@Param("categoryId") Long categoryId,
+                                         @Param("minPrice") BigDecimal minPrice,
+                                         @Param("maxPrice") BigDecimal maxPrice,
+                                         @Param("factor") BigDecimal factor,
+                                         @Param("amount") BigDecimal amount);
+
+    // The spaces hint limits second-level cache invalidation to products; without it a native
+    // statement would evict every cached category
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "products"))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products SET price = ROUND(price * :factor + :amount, 2), version = version + 1 " +
+                   "WHERE id IN (:ids)",
+           nativeQuery = true)
+    int adjustPrices(@Param("ids") Collection<Long> ids,
+                     @Param("factor") BigDecimal factor,
+                     @Param("amount") BigDecimal amount);
+
+    // id, name and current category id of the listed products that are not already in the target category.
+    // The rows stay locked until commit, taken in ID order so that concurrent moves cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id, p.name, p.category.id FROM Product p WHERE p.id IN :ids AND p.category.id <> :categoryId ORDER BY p.id")
+    List<Object[]> findMoveCandidatesForUpdate(@Param("ids") Collection<Long> ids, @Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.category = :category, p.version = p.version + 1 WHERE p.id IN :ids")
+    int moveToCategory(@Param("ids") Collection<Long> ids, @Param("category") Category category);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.id = :id AND (:expectedVersion IS NULL OR p.version = :expectedVersion)")
+    int deleteByIdInBulk(@Param("id") Long id, @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.category.id = :categoryId")
+    int deleteAllByCategoryIdInBulk(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,16 @@
+package com.example.app.repository;
+
+import com.example.app.entity.Product;
+import com.example.app.money.Money;
+import com.example.app.service.ProductSort;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+    /**
+     * One keyset page of a category's products, optionally restricted to a price range.
+     * {@code afterPrice}/{@code afterId} are the sort keys of the last row of the previous page (null for the first page).
+     */
+    List<Product> findPageInCategory(Long categoryId, Money minPrice, Money maxPrice, ProductSort sort,
+                                     Money afterPrice, Long afterId, int limit);
+}
@@ -0,0 +1,58 @@
+package com.example.app.repository;
+
+import com.example.app.entity.Product;
+import com.example.app.money.Money;
+import com.example.app.service.ProductSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ProductRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Only the predicates that are actually set are added, with no "parameter IS NULL OR ..." terms to defeat
+    // the planner. The keyset condition is a row-value comparison rather than "price > x OR (price = x AND
+    // id > y)", so with the category equality it bounds one range of idx_products_category_id_price_id (or
+    // idx_products_category_id_id for the ID order).
+    @Override
+    public List<Product> findPageInCategory(Long categoryId, Money minPrice, Money maxPrice, ProductSort sort,
+                                            Money afterPrice, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT p FROM Product p WHERE p.category.id = :categoryId");
+        if (minPrice != null) {
+            jpql.append(" AND p.price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            jpql.append(" AND p.price <= :maxPrice");
+        }
+        boolean after = afterId != null;
+        if (after) {
+            jpql.append(" AND ").append(sort.afterPredicate("p.price", "p.id"));
+        }
+        jpql.append(" ORDER BY ").append(sort.orderBy("p.price", "p.id"));
+
+        TypedQuery<Product> query = entityManager.createQuery(jpql.toString(), Product.class)
+                .setParameter("categoryId", categoryId)
+                .setMaxResults(limit);
+        if (minPrice != null) {
+            query.setParameter("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            query.setParameter("maxPrice", maxPrice);
+        }
+        if (after) {
+            query.setParameter("afterId", afterId);
+            if (sort != ProductSort.ID) {
+                query.setParameter("afterPrice", afterPrice);
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.app.search;
+
+import com.example.app.datasource.ReadRouting;
+import com.example.app.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-process substring index over product names.
+ * <p>
+ * Every product is a document number; each distinct trigram of its lower-cased name maps to an
+ * ascending list of document numbers ({@code int} postings). A query intersects down to its rarest
+ * trigram's postings and verifies candidates with {@link String#contains}. Queries shorter than three
+ * characters scan the names directly. Updates append a new document and mark the old one deleted;
+ * the index compacts itself once a quarter of its documents are deleted.
+ * <p>
+ * Built at startup from a streaming scan and kept current by {@code ProductService} after each commit.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index();
+    private List<Consumer<Index>> pendingWhileBuilding; // Guarded by writeLock; non-null during a rebuild
+
+    @Autowired
+    public ProductSearchIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            pendingWhileBuilding = new ArrayList<>();
+        }
+        Index built = new Index(); // Not published until complete, so no locking while it is filled
+        try {
+            // Scanned on the primary: a replica may still miss writes committed before the replay list started
+            ReadRouting.onPrimary(() -> {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Object[]> rows = productRepository.streamSearchFields()) {
+                        Iterator<Object[]> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            Object[] row = iterator.next();
+                            built.upsert((Long) row[0], (String) row[1], (Long) row[2]);
+                        }
+                    }
+                });
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                pendingWhileBuilding = null;
+            }
+            throw ex;
+        }
+        synchronized (writeLock) {
+            // Writes committed while the scan was running may or may not be in it; replaying them is idempotent
+            pendingWhileBuilding.forEach(change -> change.accept(built));
+            pendingWhileBuilding = null;
+            index = built;
+        }
+        log.info("Product search index built with {} products", built.liveCount());
+    }
+
+    public void upsert(Long productId, String name, Long categoryId) {
+        apply(index -> index.upsert(productId, name, categoryId));
+    }
+
+    public void remove(Long productId) {
+        apply(index -> index.remove(productId));
+    }
+
+    public void removeCategory(Long categoryId) {
+        apply(index -> index.removeCategory(categoryId));
+    }
+
+    /**
+     * @return IDs of up to {@code limit} products whose name contains {@code query} (case-insensitive),
+     *         names starting with the query first
+     */
+    public List<Long> search(String query, Long categoryId, int limit) {
+        String needle = normalize(query);
+        Index current = index;
+        current.lock.readLock().lock();
+        try {
+            return current.search(needle, categoryId, limit);
+        } finally {
+            current.lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Index> change) {
+        synchronized (writeLock) {
+            Index current = index;
+            current.lock.writeLock().lock();
+            try {
+                change.accept(current);
+                if (current.needsCompaction()) {
+                    index = current.compact(); // Readers still on the old instance finish against a consistent view
+                }
+            } finally {
+                current.lock.writeLock().unlock();
+            }
+            if (pendingWhileBuilding != null) {
+                pendingWhileBuilding.add(change);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class Index {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private long[] productIds = new long[1024];
+        private long[] categoryIds = new long[1024];
+        private String[] names = new String[1024];
+        private final BitSet deleted = new BitSet();
+        private final Map<Long, Integer> documentByProductId = new HashMap<>();
+        private final Map<Long, IntList> postings = new HashMap<>();
+        private int documentCount;
+        private int deletedCount;
+
+        void upsert(long productId, String name, long categoryId) {
+            remove(productId);
+            if (documentCount == productIds.length) {
+                int capacity = documentCount * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            int document = documentCount++;
+            String normalized = normalize(name);
+            productIds[document] = productId;
+            categoryIds[document] = categoryId;
+            names[document] = normalized;
+            documentByProductId.put(productId, document);
+            for (int i = 0; i + 3 <= normalized.length(); i++) {
+                IntList list = postings.computeIfAbsent(trigram(normalized, i), key -> new IntList());
+                if (list.size == 0 || list.last() != document) { // Repeated trigrams in one name
+                    list.add(document);
+                }
+            }
+        }
+
+        void remove(long productId) {
+            Integer document = documentByProductId.remove(productId);
+            if (document != null) {
+                deleted.set(document);
+                names[document] = null;
+                deletedCount++;
+            }
+        }
+
+        void removeCategory(long categoryId) {
+            for (int document = 0; document < documentCount; document++) {
+                if (categoryIds[document] == categoryId && !deleted.get(document)) {
+                    remove(productIds[document]);
+                }
+            }
+        }
+
+        List<Long> search(String needle, Long categoryId, int limit) {
+            List<Long> prefixMatches = new ArrayList<>(limit);
+            List<Long> otherMatches = new ArrayList<>(limit);
+            if (needle.length() < 3) {
+                for (int document = 0; document < documentCount && prefixMatches.size() < limit; document++) {
+                    collect(document, needle, categoryId, limit, prefixMatches, otherMatches);
+                }
+            } else {
+                IntList candidates = rarestPostings(needle);
+                if (candidates != null) {
+                    for (int i = 0; i < candidates.size && prefixMatches.size() < limit; i++) {
+                        collect(candidates.values[i], needle, categoryId, limit, prefixMatches, otherMatches);
+                    }
+                }
+            }
+            for (int i = 0; i < otherMatches.size() && prefixMatches.size() < limit; i++) {
+                prefixMatches.add(otherMatches.get(i));
+            }
+            return prefixMatches;
+        }
+
+        private void collect(int document, String needle, Long categoryId, int limit,
+                             List<Long> prefixMatches, List<Long> otherMatches) {
+            if (deleted.get(document) || (categoryId != null && categoryIds[document] != categoryId)) {
+                return;
+            }
+            String name = names[document];
+            if (name.startsWith(needle)) {
+                prefixMatches.add(productIds[document]);
+            } else if (otherMatches.size() < limit && name.contains(needle)) {
+                otherMatches.add(productIds[document]);
+            }
+        }
+
+        // Null when some trigram of the needle does not occur at all
+        private IntList rarestPostings(String needle) {
+            IntList rarest = null;
+            for (int i = 0; i + 3 <= needle.length(); i++) {
+                IntList list = postings.get(trigram(needle, i));
+                if (list == null) {
+                    return null;
+                }
+                if (rarest == null || list.size < rarest.size) {
+                    rarest = list;
+                }
+            }
+            return rarest;
+        }
+
+        int liveCount() {
+            return documentCount - deletedCount;
+        }
+
+        boolean needsCompaction() {
+            return deletedCount > 1024 && deletedCount * 4 > documentCount;
+        }
+
+        Index compact() {
+            Index compacted = new Index();
+            for (int document = 0; document < documentCount; document++) {
+                if (!deleted.get(document)) {
+                    compacted.upsert(productIds[document], names[document], categoryIds[document]);
+                }
+            }
+            return compacted;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int last() {
+            return values[size - 1];
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.app.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers successful password checks for a short time, so repeated Basic-authenticated requests
+ * with the same credentials skip the delegate's (deliberately slow) verification.
+ * <p>
+ * Only an HMAC of the stored hash and the presented password is kept, keyed with a random
+ * per-process secret, so the cache never holds a plain password or anything that can be
+ * brute-forced offline faster than the original hash. Failed checks are never cached.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    private final Map<String, Long> verified = new ConcurrentHashMap<>();
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, Duration ttl, int maxEntries) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String digest = digest(rawPassword, encodedPassword);
+        long now = System.nanoTime();
+        Long expiresAt = verified.get(digest);
+        if (expiresAt != null) {
+            if (now - expiresAt < 0) {
+                return true;
+            }
+            verified.remove(digest, expiresAt);
+        }
+
+        if (!delegate.matches(rawPassword, encodedPassword)) {
+            return false;
+        }
+        if (verified.size() >= maxEntries) {
+            evictOne(now);
+        }
+        verified.put(digest, now + ttlNanos);
+        return true;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Prefer an expired entry; otherwise drop an arbitrary one to stay within maxEntries
+    private void evictOne(long now) {
+        Iterator<Map.Entry<String, Long>> iterator = verified.entrySet().iterator();
+        String victim = null;
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> candidate = iterator.next();
+            if (victim == null) {
+                victim = candidate.getKey();
+            }
+            if (now - candidate.getValue() >= 0) {
+                victim = candidate.getKey();
+                break;
+            }
+        }
+        if (victim != null) {
+            verified.remove(victim);
+        }
+    }
+
+    private String digest(CharSequence rawPassword, String encodedPassword) {
+        Mac mac = macs.get();
+        mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.app.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies short-lived bearer tokens of the form {@code payload.signature}, where the
+ * payload is {@code username|authorities|expiresAtEpochSecond} and the signature is its HMAC-SHA256.
+ * Verification is a single MAC computation: no password hashing and no user lookup.
+ * <p>
+ * Tokens cannot be revoked before they expire, which is why their lifetime is kept short.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char FIELD_SEPARATOR = '|';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    // Mac instances are stateful and not thread-safe
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public TokenService(@Value("${app.security.token.secret:}") String secret,
+                        @Value("${app.security.token.ttl:15m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(resolveSecret(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public IssuedToken issue(String username, Collection<? extends GrantedAuthority> authorities) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        String roles = authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
+        String payload = ENCODER.encodeToString(
+                (username + FIELD_SEPARATOR + roles + FIELD_SEPARATOR + expiresAt).getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(payload + "." + ENCODER.encodeToString(sign(payload)), ttl.toSeconds());
+    }
+
+    /**
+     * @return the token's principal, or {@code null} if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        byte[] signature;
+        String[] fields;
+        try {
+            signature = DECODER.decode(token.substring(dot + 1));
+            // Constant-time comparison, so the signature cannot be guessed byte by byte
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+            fields = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        if (fields.length != 3) {
+            return null;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(fields[2]);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (!fields[1].isEmpty()) {
+            for (String role : fields[1].split(",")) {
+                authorities.add(new SimpleGrantedAuthority(role));
+            }
+        }
+        return new VerifiedToken(fields[0], authorities);
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.security.token.secret is not set; using a random key. Tokens will not survive a restart "
+                    + "and are not accepted by other instances.");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret);
+        if (decoded.length < 32) {
+            throw new IllegalStateException("app.security.token.secret must be at least 256 bits (base64-encoded)");
+        }
+        return decoded;
+    }
+
+    public static final class IssuedToken {
+        private final String token;
+        private final long expiresInSeconds;
+
+        private IssuedToken(String token, long expiresInSeconds) {
+            this.token = token;
+            this.expiresInSeconds = expiresInSeconds;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public long getExpiresInSeconds() {
+            return expiresInSeconds;
+        }
+    }
+
+    public static final class VerifiedToken {
+        private final String username;
+        private final List<GrantedAuthority> authorities;
+
+        private VerifiedToken(String username, List<GrantedAuthority> authorities) {
+            this.username = username;
+            this.authorities = authorities;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+    }
+}
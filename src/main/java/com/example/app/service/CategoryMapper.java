@@ -0,0 +1,21 @@
+package com.example.app.service;
+
+import com.example.app.dto.CategoryDto;
+import com.example.app.entity.Category;
+
+/**
+ * Entity-to-DTO mapping for categories.
+ */
+public final class CategoryMapper {
+
+    private CategoryMapper() {
+    }
+
+    public static CategoryDto toDto(Category category) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setVersion(category.getVersion());
+        return dto;
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.app.service;
 
+import com.example.app.cache.CategoryResponseCache;
 import com.example.app.dto.CategoryDto;
 import com.example.app.entity.Category;
+import com.example.app.entity.ChangeEvent;
+import com.example.app.exception.PreconditionFailedException;
 import com.example.app.exception.ResourceNotFoundException;
 import com.example.app.repository.CategoryRepository;
+import com.example.app.repository.ProductRepository;
+import com.example.app.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,16 +21,31 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CategoryResponseCache categoryResponseCache;
+    private final ChangeFeedService changeFeedService;
+    private final CategorySummaryService categorySummaryService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductWriteGenerations productWriteGenerations;
 
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository,
+                           CategoryResponseCache categoryResponseCache, ChangeFeedService changeFeedService,
+                           CategorySummaryService categorySummaryService, ProductSearchIndex productSearchIndex,
+                           ProductWriteGenerations productWriteGenerations) {
         this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.categoryResponseCache = categoryResponseCache;
+        this.changeFeedService = changeFeedService;
+        this.categorySummaryService = categorySummaryService;
+        this.productSearchIndex = productSearchIndex;
+        this.productWriteGenerations = productWriteGenerations;
     }
 
     @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
         return categoryRepository.findAll().stream()
-                .map(this::convertToDto)
+                .map(CategoryMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -32,54 +53,100 @@ public class CategoryService {
     public CategoryDto getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID " + id));
-        return convertToDto(category);
+        return CategoryMapper.toDto(category);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryRepository.IdAndVersion> getCategoryVersions() {
+        return categoryRepository.findAllIdsAndVersions();
+    }
+
+    @Transactional(readOnly = true)
+    public Long getCategoryVersion(Long id) {
+        return categoryRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID " + id));
     }
 
     @Transactional
     public CategoryDto createCategory(CategoryDto categoryDto) {
-        // Check for existing category with the same name (optional, can be handled by DB constraint too)
-        categoryRepository.findByName(categoryDto.getName()).ifPresent(c -> {
-            throw new IllegalArgumentException("Category with name '" + categoryDto.getName() + "' already exists.");
-        });
+        // Duplicate names are caught by the unique constraint instead of a lookup before every insert
         Category category = convertToEntity(categoryDto);
-        Category savedCategory = categoryRepository.save(category);
-        return convertToDto(savedCategory);
+        Category savedCategory;
+        try {
+            savedCategory = categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException ex) {
+            if (!IntegrityViolations.isUniqueViolation(ex)) {
+                throw ex;
+            }
+            throw new IllegalArgumentException("Category with name '" + categoryDto.getName() + "' already exists.");
+        }
+        categorySummaryService.categoryCreated(savedCategory.getId());
+        changeFeedService.record(ChangeEvent.EntityType.CATEGORY, savedCategory.getId(), ChangeEvent.ChangeType.CREATED);
+        TransactionCallbacks.afterCommit(() -> categoryResponseCache.invalidate(null));
+        return CategoryMapper.toDto(savedCategory);
     }
 
     @Transactional
-    public CategoryDto updateCategory(Long id, CategoryDto categoryDto) {
+    public CategoryDto updateCategory(Long id, CategoryDto categoryDto, Long expectedVersion) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID " + id));
-        
-        // Check if new name conflicts with another existing category
-        categoryRepository.findByName(categoryDto.getName()).ifPresent(existingCategory -> {
-            if (!existingCategory.getId().equals(id)) {
-                throw new IllegalArgumentException("Another category with name '" + categoryDto.getName() + "' already exists.");
-            }
-        });
+        checkVersion(id, expectedVersion, category.getVersion());
 
         category.setName(categoryDto.getName());
-        Category updatedCategory = categoryRepository.save(category);
-        return convertToDto(updatedCategory);
+        Category updatedCategory;
+        try {
+            updatedCategory = categoryRepository.saveAndFlush(category); // Flush so the DTO carries the new version
+        } catch (DataIntegrityViolationException ex) {
+            if (!IntegrityViolations.isUniqueViolation(ex)) {
+                throw ex;
+            }
+            throw new IllegalArgumentException("Another category with name '" + categoryDto.getName() + "' already exists.");
+        }
+        changeFeedService.record(ChangeEvent.EntityType.CATEGORY, id, ChangeEvent.ChangeType.UPDATED);
+        TransactionCallbacks.afterCommit(() -> categoryResponseCache.invalidate(id));
+        return CategoryMapper.toDto(updatedCategory);
     }
 
+    /**
+     * Deletes the category, its summary and all of its products with bulk statements, without loading
+     * either into the persistence context. The statement count does not depend on category size.
+     *
+     * The category row is locked and its version checked before anything is deleted, so a stale
+     * {@code expectedVersion} or a missing category fails without touching the products.
+     *
+     * @return the number of products that were removed along with the category
+     */
     @Transactional
-    public void deleteCategory(Long id) {
-        Category category = categoryRepository.findById(id)
+    public int deleteCategory(Long id, Long expectedVersion) {
+        Long currentVersion = categoryRepository.findVersionByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID " + id));
-        // Consider implications if category has products. 
-        // Current setup: CascadeType.ALL and orphanRemoval=true will delete associated products.
-        categoryRepository.delete(category);
+        checkVersion(id, expectedVersion, currentVersion);
+
+        int deletedProducts = productRepository.deleteAllByCategoryIdInBulk(id);
+        if (categoryRepository.deleteByIdAndVersionInBulk(id, currentVersion) == 0) {
+            // The row is locked, so this cannot happen; throwing rolls back the product deletion as well
+            throw new IllegalStateException("Category with ID " + id + " was not deleted");
+        }
+        categorySummaryService.categoryDeleted(id);
+        changeFeedService.record(ChangeEvent.EntityType.CATEGORY, id, ChangeEvent.ChangeType.DELETED);
+        TransactionCallbacks.afterCommit(() -> {
+            categoryResponseCache.invalidate(id);
+            productSearchIndex.removeCategory(id);
+            if (deletedProducts > 0) {
+                productWriteGenerations.allWritten();
+            }
+        });
+        return deletedProducts;
     }
 
-    // --- Helper Methods for DTO/Entity Conversion ---
-    private CategoryDto convertToDto(Category category) {
-        CategoryDto dto = new CategoryDto();
-        dto.setId(category.getId());
-        dto.setName(category.getName());
-        return dto;
+    private void checkVersion(Long id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException("Category with ID " + id + " has been modified (expected version "
+                    + expectedVersion + ", current version " + currentVersion + ").");
+        }
     }
 
+    // --- Helper Methods for DTO/Entity Conversion (entity to DTO is in CategoryMapper) ---
     private Category convertToEntity(CategoryDto categoryDto) {
         Category category = new Category();
         // ID is not set from DTO for new entities
@@ -0,0 +1,185 @@
+package com.example.app.service;
+
+import com.example.app.dto.CategorySummaryDto;
+import com.example.app.entity.CategorySummary;
+import com.example.app.money.Money;
+import com.example.app.repository.CategoryRepository;
+import com.example.app.repository.CategorySummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link CategorySummary} rows in step with product writes. Every adjustment is a single
+ * UPDATE of the category's row inside the writing transaction, so concurrent writers to the same
+ * category serialize on that row rather than overwrite each other's figures.
+ * <p>
+ * Lock order: every product write locks or changes its product rows (several in ID order) before it
+ * touches any summary row (several in category ID order). Callers must keep to it, or a bulk write
+ * and a single-product write to the same category can deadlock. Deleting a category locks the category
+ * row ahead of both.
+ */
+@Service
+public class CategorySummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategorySummaryService.class);
+
+    // Advisory lock key held by the node that is reconciling; any constant unique within the database
+    private static final long RECONCILE_LOCK_KEY = 0x63617473756d6dL;
+
+    private final CategorySummaryRepository categorySummaryRepository;
+    private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate lockTransaction;
+    private final TransactionTemplate categoryTransaction;
+    private final boolean reconcileEnabled;
+
+    @Autowired
+    public CategorySummaryService(CategorySummaryRepository categorySummaryRepository,
+                                  CategoryRepository categoryRepository, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.summaries.reconcile-enabled:true}") boolean reconcileEnabled) {
+        this.categorySummaryRepository = categorySummaryRepository;
+        this.categoryRepository = categoryRepository;
+        this.entityManager = entityManager;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.categoryTransaction = new TransactionTemplate(transactionManager);
+        this.categoryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileEnabled = reconcileEnabled;
+    }
+
+    /**
+     * One row per category, read from the summary table only.
+     */
+    @Transactional(readOnly = true)
+    public List<CategorySummaryDto> getSummaries() {
+        return categorySummaryRepository.findAllRows().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void categoryCreated(Long categoryId) {
+        entityManager.persist(new CategorySummary(categoryId)); // Assigned ID: persist rather than merge
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void categoryDeleted(Long categoryId) {
+        categorySummaryRepository.deleteByCategoryIdInBulk(categoryId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productAdded(Long categoryId, Money price) {
+        productsAdded(categoryId, 1, price, price, price);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productsAdded(Long categoryId, long count, Money priceSum, Money minPrice, Money maxPrice) {
+        ensureApplied(categoryId, categorySummaryRepository.addProducts(categoryId, count, priceSum.toBigDecimal(),
+                minPrice.toBigDecimal(), maxPrice.toBigDecimal()));
+    }
+
+    /**
+     * Call after the product row has been deleted, so the recomputed price range no longer includes it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productRemoved(Long categoryId, Money price) {
+        ensureApplied(categoryId, categorySummaryRepository.adjust(categoryId, -1, Money.ZERO.minus(price).toBigDecimal()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productRepriced(Long categoryId, Money oldPrice, Money newPrice) {
+        ensureApplied(categoryId, categorySummaryRepository.adjust(categoryId, 0, newPrice.minus(oldPrice).toBigDecimal()));
+    }
+
+    /**
+     * Call after the product row has been updated. Both rows are locked in ID order, so two opposite
+     * moves between the same categories cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productMoved(Long fromCategoryId, Long toCategoryId, Money oldPrice, Money newPrice) {
+        if (fromCategoryId < toCategoryId) {
+            productRemoved(fromCategoryId, oldPrice);
+            productAdded(toCategoryId, newPrice);
+        } else {
+            productAdded(toCategoryId, newPrice);
+            productRemoved(fromCategoryId, oldPrice);
+        }
+    }
+
+    /**
+     * Recomputes the given categories' summaries from their products, for bulk changes that touch too
+     * many rows to track individually.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void categoriesChanged(Collection<Long> categoryIds) {
+        for (Long categoryId : new TreeSet<>(categoryIds)) { // ID order, as in productMoved
+            categorySummaryRepository.recompute(categoryId);
+        }
+    }
+
+    /**
+     * Recomputes every category's summary from its products, repairing any drift and adding rows for
+     * categories that have none yet. Each category is upserted in its own short transaction that first
+     * locks the summary row, so product writes to other categories never wait on the job and writes to
+     * this one queue for a single statement. Only one node reconciles at a time: the run holds a
+     * transaction-scoped advisory lock, and the other nodes skip it.
+     */
+    @Scheduled(fixedDelayString = "${app.summaries.reconcile-interval:PT1H}")
+    public void reconcile() {
+        if (!reconcileEnabled) {
+            return;
+        }
+        Integer categories = lockTransaction.execute(status -> {
+            if (!categorySummaryRepository.tryAdvisoryTransactionLock(RECONCILE_LOCK_KEY)) {
+                return null;
+            }
+            categoryTransaction.executeWithoutResult(inner -> categorySummaryRepository.deleteOrphans());
+            List<Long> categoryIds = categoryRepository.findAllIds();
+            for (Long categoryId : categoryIds) {
+                categoryTransaction.executeWithoutResult(inner -> {
+                    // Writers committed before the lock are counted; later ones apply their deltas afterwards
+                    categorySummaryRepository.findByIdForUpdate(categoryId);
+                    categorySummaryRepository.upsertFromProducts(categoryId);
+                });
+            }
+            return categoryIds.size();
+        });
+        if (categories == null) {
+            log.debug("Category summaries are being reconciled by another node; skipped");
+        } else {
+            log.info("Category summaries reconciled for {} categories", categories);
+        }
+    }
+
+    // No row to adjust: it was recomputed from scratch or reconciliation has not added it yet. Recompute just this one.
+    private void ensureApplied(Long categoryId, int updated) {
+        if (updated == 0 && categorySummaryRepository.recompute(categoryId) == 0) {
+            log.debug("No summary row for category {} yet; the next reconciliation will add it", categoryId);
+        }
+    }
+
+    private CategorySummaryDto convertToDto(CategorySummaryRepository.SummaryRow row) {
+        long count = row.getProductCount();
+        BigDecimal average = count == 0 ? null
+                : row.getPriceSum().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        return new CategorySummaryDto(row.getCategoryId(), row.getCategoryName(), count,
+                row.getMinPrice(), row.getMaxPrice(), average);
+    }
+}
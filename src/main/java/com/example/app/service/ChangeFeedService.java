@@ -0,0 +1,276 @@
+package com.example.app.service;
+
+import com.example.app.dto.ChangeEventDto;
+import com.example.app.dto.ChangeFeedPageDto;
+import com.example.app.entity.ChangeEvent;
+import com.example.app.entity.ChangeSequence;
+import com.example.app.exception.BadRequestException;
+import com.example.app.repository.ChangeEventRepository;
+import com.example.app.repository.ChangeSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Records changes to products and categories inside the writing transaction, numbers them in commit
+ * order once committed, serves them as pages of deltas, and pushes them to Server-Sent Event subscribers.
+ * <p>
+ * Writers only insert unsequenced events, so they never wait on each other here. A scheduled sequencer
+ * assigns the sequence numbers to committed events under the {@link ChangeSequence} row lock, so readers
+ * see the numbers appear in increasing order and never skip one.
+ * <p>
+ * Deleting a category removes its products without per-product events: a CATEGORY/DELETED event implies
+ * that all products of that category are gone.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String RESYNC_EVENT = "resync";
+    private static final int MAX_REPLAY_EVENTS = 10_000;
+    private static final int SEQUENCING_BATCH_SIZE = 1000;
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeSequenceRepository changeSequenceRepository;
+    private final TransactionTemplate transaction;
+    private final Duration tombstoneRetention;
+    private final Duration streamTimeout;
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    // Single thread keeps pushes in sequence order and keeps slow subscribers off the committing thread
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ChangeFeedService(ChangeEventRepository changeEventRepository,
+                             ChangeSequenceRepository changeSequenceRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.changes.tombstone-retention:7d}") Duration tombstoneRetention,
+                             @Value("${app.changes.stream-timeout:30m}") Duration streamTimeout) {
+        this.changeEventRepository = changeEventRepository;
+        this.changeSequenceRepository = changeSequenceRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.tombstoneRetention = tombstoneRetention;
+        this.streamTimeout = streamTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeSequence() {
+        if (changeSequenceRepository.existsById(ChangeSequence.SINGLETON_ID)) {
+            return;
+        }
+        try {
+            changeSequenceRepository.saveAndFlush(new ChangeSequence(ChangeSequence.SINGLETON_ID));
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance created it first
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEvent.EntityType entityType, Long entityId, ChangeEvent.ChangeType changeType) {
+        recordAll(entityType, List.of(entityId), changeType);
+    }
+
+    /**
+     * Appends one unsequenced event per entity. Must run inside the writing transaction, so the events
+     * commit or roll back with the change; they reach readers once the sequencer has numbered them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(ChangeEvent.EntityType entityType, Collection<Long> entityIds, ChangeEvent.ChangeType changeType) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        changeEventRepository.insertUnsequenced(entityType, entityIds, changeType, Instant.now());
+    }
+
+    /**
+     * Numbers committed events in batches until none are left; each batch is published once it commits.
+     * The first run comes one interval after startup.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.sequencing-interval:PT0.2S}",
+               initialDelayString = "${app.changes.sequencing-interval:PT0.2S}")
+    public void assignSequenceNumbers() {
+        Integer assigned;
+        do {
+            assigned = transaction.execute(status -> assignBatch());
+        } while (assigned != null && assigned == SEQUENCING_BATCH_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedPageDto getChangesSince(long since, Integer limit) {
+        if (since < 0) {
+            throw new BadRequestException("'since' must not be negative.");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        boolean resyncRequired = changeSequenceRepository.findById(ChangeSequence.SINGLETON_ID)
+                .map(sequence -> since < sequence.getPurgedThroughSeq())
+                .orElse(false);
+        List<ChangeEventDto> changes = changeEventRepository.findBySeqGreaterThanOrderBySeqAsc(since, PageRequest.ofSize(pageSize))
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new ChangeFeedPageDto(changes, nextSince, resyncRequired);
+    }
+
+    /**
+     * Opens a live stream. When {@code lastEventId} is given, events after it are replayed first; replayed
+     * and live events can overlap, so subscribers should ignore sequence numbers they have already applied.
+     * <p>
+     * A subscriber that is too far behind (more than {@value #MAX_REPLAY_EVENTS} events to replay, or behind
+     * purged tombstones) is sent a {@value #RESYNC_EVENT} event and the stream is closed. It must reload its
+     * full state before subscribing again.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(ex -> subscribers.remove(emitter));
+        subscribers.add(emitter); // Register before replaying so nothing committed in between is lost
+
+        if (lastEventId != null) {
+            replay(emitter, lastEventId);
+        }
+        return emitter;
+    }
+
+    /**
+     * Collapses superseded events to the latest one per entity and purges tombstones older than the
+     * configured retention window.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.compaction-interval:PT1H}")
+    @Transactional
+    public void compact() {
+        int superseded = changeEventRepository.deleteSuperseded();
+        int orphaned = changeEventRepository.deleteForRemovedProducts();
+        int purged = 0;
+        Long purgeThrough = changeEventRepository.findLatestTombstoneSeqBefore(Instant.now().minus(tombstoneRetention));
+        if (purgeThrough != null) {
+            ChangeSequence sequence = changeSequenceRepository.findByIdForUpdate(ChangeSequence.SINGLETON_ID)
+                    .orElseThrow(() -> new IllegalStateException("Change sequence has not been initialized"));
+            purged = changeEventRepository.deleteTombstonesThrough(purgeThrough);
+            sequence.setPurgedThroughSeq(Math.max(sequence.getPurgedThroughSeq(), purgeThrough));
+        }
+        log.info("Change feed compacted: {} superseded, {} orphaned, {} tombstones purged", superseded, orphaned, purged);
+    }
+
+    // Events are read only after taking the lock, so two nodes never number the same event. Each batch
+    // commits before the next can take the lock, so every number handed out is above all visible ones.
+    private int assignBatch() {
+        if (!changeEventRepository.existsBySeqIsNull()) {
+            return 0;
+        }
+        ChangeSequence sequence = changeSequenceRepository.findByIdForUpdate(ChangeSequence.SINGLETON_ID).orElse(null);
+        if (sequence == null) {
+            return 0; // Created once the application is ready
+        }
+        List<ChangeEvent> pending = changeEventRepository.findBySeqIsNullOrderByIdAsc(PageRequest.ofSize(SEQUENCING_BATCH_SIZE));
+        long seq = sequence.getLastSeq();
+        List<ChangeEventDto> sequenced = new ArrayList<>(pending.size());
+        for (ChangeEvent event : pending) {
+            event.setSeq(++seq);
+            sequenced.add(convertToDto(event));
+        }
+        sequence.setLastSeq(seq);
+        TransactionCallbacks.afterCommit(() -> publisher.execute(() -> publish(sequenced)));
+        return pending.size();
+    }
+
+    private void replay(SseEmitter emitter, long since) {
+        boolean purged = changeSequenceRepository.findById(ChangeSequence.SINGLETON_ID)
+                .map(sequence -> since < sequence.getPurgedThroughSeq())
+                .orElse(false);
+        if (purged) {
+            requireResync(emitter, "Changes after " + since + " have been purged.");
+            return;
+        }
+        long replayedThrough = since;
+        int replayed = 0;
+        while (true) {
+            List<ChangeEvent> page = changeEventRepository.findBySeqGreaterThanOrderBySeqAsc(replayedThrough,
+                    PageRequest.ofSize(MAX_PAGE_SIZE));
+            if (page.isEmpty()) {
+                return;
+            }
+            if (replayed >= MAX_REPLAY_EVENTS) {
+                // Handing over to live events here would silently drop everything not yet replayed
+                requireResync(emitter, "More than " + MAX_REPLAY_EVENTS + " changes after " + since + " to replay.");
+                return;
+            }
+            if (!send(emitter, page.stream().map(this::convertToDto).collect(Collectors.toList()))) {
+                return;
+            }
+            replayedThrough = page.get(page.size() - 1).getSeq();
+            replayed += page.size();
+        }
+    }
+
+    // Carries no id, so the client's Last-Event-ID still points at the last change it actually received
+    private void requireResync(SseEmitter emitter, String reason) {
+        subscribers.remove(emitter);
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(RESYNC_EVENT)
+                    .data(reason + " Reload the full state, then subscribe again."));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away or the emitter already completed
+        }
+    }
+
+    private void publish(List<ChangeEventDto> events) {
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, events);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, List<ChangeEventDto> events) {
+        try {
+            for (ChangeEventDto event : events) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getSeq()))
+                        .name("change")
+                        .data(event));
+            }
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away or the emitter already completed
+            subscribers.remove(emitter);
+            return false;
+        }
+    }
+
+    private ChangeEventDto convertToDto(ChangeEvent event) {
+        return new ChangeEventDto(event.getSeq(), event.getEntityType(), event.getEntityId(),
+                event.getChangeType(), event.getRecordedAt());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.app.service;
+
+import com.example.app.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+/**
+ * Wire formats supported by the streaming catalog export.
+ */
+public enum ExportFormat {
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String parameter;
+    private final MediaType mediaType;
+
+    ExportFormat(String parameter, MediaType mediaType) {
+        this.parameter = parameter;
+        this.mediaType = mediaType;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.parameter.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported export format '" + value + "'. Supported values: ndjson, csv.");
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.app.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Tells which constraint a {@link DataIntegrityViolationException} broke, from the SQLState of the
+ * innermost {@link SQLException}. Callers translate only the violation they expect and rethrow the rest.
+ */
+final class IntegrityViolations {
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    // H2 reports a missing parent row with its own code; PostgreSQL uses 23503 for both directions
+    private static final String H2_PARENT_MISSING = "23506";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private IntegrityViolations() {
+    }
+
+    static boolean isForeignKeyViolation(DataIntegrityViolationException ex) {
+        String sqlState = sqlStateOf(ex);
+        return FOREIGN_KEY_VIOLATION.equals(sqlState) || H2_PARENT_MISSING.equals(sqlState);
+    }
+
+    static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return UNIQUE_VIOLATION.equals(sqlStateOf(ex));
+    }
+
+    private static String sqlStateOf(Throwable ex) {
+        String sqlState = null;
+        for (Throwable cause = ex; cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                sqlState = sqlException.getSQLState();
+            }
+        }
+        return sqlState;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.app.service;
+
+import com.example.app.dto.ProductDto;
+import com.example.app.entity.Product;
+import com.example.app.exception.BadRequestException;
+import com.example.app.money.Money;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor pointing just past the last product of a page.
+ * Encodes the sort it was issued for together with the sort key(s) of that product,
+ * so the next page can be fetched with a single index range scan.
+ */
+public final class ProductCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ProductSort sort;
+    private final Money price; // Only set for the price orderings
+    private final Long id;
+
+    private ProductCursor(ProductSort sort, Money price, Long id) {
+        this.sort = sort;
+        this.price = price;
+        this.id = id;
+    }
+
+    public static ProductCursor after(ProductSort sort, Product product) {
+        return new ProductCursor(sort, sort == ProductSort.ID ? null : product.getPrice(), product.getId());
+    }
+
+    public static ProductCursor after(ProductSort sort, ProductDto product) {
+        return new ProductCursor(sort, sort == ProductSort.ID ? null : product.getPrice(), product.getId());
+    }
+
+    public ProductSort getSort() {
+        return sort;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = switch (sort) {
+            case PRICE -> "p:" + price + ":" + id;
+            case PRICE_DESC -> "d:" + price + ":" + id;
+            default -> "i:" + id;
+        };
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String cursor, ProductSort expectedSort) {
+        ProductCursor decoded;
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 2 && "i".equals(parts[0])) {
+                decoded = new ProductCursor(ProductSort.ID, null, Long.valueOf(parts[1]));
+            } else if (parts.length == 3 && ("p".equals(parts[0]) || "d".equals(parts[0]))) {
+                ProductSort sort = "p".equals(parts[0]) ? ProductSort.PRICE : ProductSort.PRICE_DESC;
+                decoded = new ProductCursor(sort, Money.parse(parts[1]), Long.valueOf(parts[2]));
+            } else {
+                throw new BadRequestException("Invalid cursor.");
+            }
+        } catch (IllegalArgumentException | ArithmeticException ex) { // Also covers NumberFormatException
+            throw new BadRequestException("Invalid cursor.");
+        }
+        if (decoded.sort != expectedSort) {
+            throw new BadRequestException("Cursor was issued for sort '" + decoded.sort.getParameter()
+                    + "' and cannot be used with sort '" + expectedSort.getParameter() + "'.");
+        }
+        return decoded;
+    }
+}
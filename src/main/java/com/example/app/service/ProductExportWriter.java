@@ -0,0 +1,56 @@
+package com.example.app.service;
+
+import com.example.app.dto.ProductDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Encodes exported products in an {@link ExportFormat}. Used by both the blocking and the reactive export.
+ */
+public final class ProductExportWriter {
+
+    private final ObjectWriter ndjsonWriter;
+
+    public ProductExportWriter(ObjectMapper objectMapper) {
+        // One JSON document per line; flushing is left to the caller rather than done per row
+        this.ndjsonWriter = objectMapper.writerFor(ProductDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET, JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    public void writeHeader(Writer writer, ExportFormat format) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write("id,name,price,categoryId\n");
+        }
+    }
+
+    public void writeRow(Writer writer, ExportFormat format, ProductDto dto) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, dto);
+        } else {
+            ndjsonWriter.writeValue(writer, dto);
+            writer.write('\n');
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, ProductDto dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(escapeCsv(dto.getName()));
+        writer.write(',');
+        writer.write(dto.getPrice().toString());
+        writer.write(',');
+        writer.write(String.valueOf(dto.getCategoryId()));
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
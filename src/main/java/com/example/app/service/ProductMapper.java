@@ -0,0 +1,23 @@
+package com.example.app.service;
+
+import com.example.app.dto.ProductDto;
+import com.example.app.entity.Product;
+
+/**
+ * Entity-to-DTO mapping for products. Reads only the category's ID, so a lazy category is not initialized.
+ */
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    public static ProductDto toDto(Product product) {
+        ProductDto dto = new ProductDto();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setPrice(product.getPrice());
+        dto.setCategoryId(product.getCategory().getId());
+        dto.setVersion(product.getVersion());
+        return dto;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.app.service;
+
+import com.example.app.exception.BadRequestException;
+import com.example.app.money.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validation and defaults for the query parameters of the product read endpoints, shared by
+ * {@link ProductService} and the reactive handlers so both stacks accept and reject the same requests.
+ */
+public final class ProductReadParameters {
+
+    private ProductReadParameters() {
+    }
+
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return ProductService.DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1.");
+        }
+        return Math.min(limit, ProductService.MAX_PAGE_SIZE); // Hard server-side cap, regardless of what the client asks for
+    }
+
+    public static void checkPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("minPrice must not be greater than maxPrice.");
+        }
+    }
+
+    // Prices are whole cents, so rounding the bounds inwards selects the same rows
+    public static Money lowerPriceBound(BigDecimal minPrice) {
+        return minPrice != null ? priceBound(minPrice, RoundingMode.CEILING) : null;
+    }
+
+    public static Money upperPriceBound(BigDecimal maxPrice) {
+        return maxPrice != null ? priceBound(maxPrice, RoundingMode.FLOOR) : null;
+    }
+
+    /**
+     * @return the requested IDs without duplicates, in the order they were first requested
+     */
+    public static Set<Long> lookupIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new BadRequestException("At least one product ID is required.");
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(productIds);
+        if (requestedIds.size() > ProductService.MAX_LOOKUP_SIZE) {
+            throw new BadRequestException("At most " + ProductService.MAX_LOOKUP_SIZE + " product IDs can be requested at once.");
+        }
+        return requestedIds;
+    }
+
+    /**
+     * @return the number of search results to return
+     */
+    public static int searchLimit(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank.");
+        }
+        return limit == null ? ProductService.DEFAULT_SEARCH_LIMIT
+                : Math.min(Math.max(limit, 1), ProductService.MAX_SEARCH_LIMIT);
+    }
+
+    private static Money priceBound(BigDecimal bound, RoundingMode roundingMode) {
+        try {
+            return Money.of(bound, roundingMode);
+        } catch (ArithmeticException ex) {
+            throw new BadRequestException("Price bound " + bound.toPlainString() + " is out of range.");
+        }
+    }
+}
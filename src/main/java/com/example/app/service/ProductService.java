@@ -1,92 +1,551 @@
 package com.example.app.service;
 
+import com.example.app.datasource.ReadRouting;
+import com.example.app.dto.PriceAdjustmentDto;
+import com.example.app.dto.ProductBatchItemResultDto;
+import com.example.app.dto.ProductBatchResultDto;
 import com.example.app.dto.ProductDto;
+import com.example.app.dto.ProductLookupResultDto;
+import com.example.app.dto.ProductPageDto;
 import com.example.app.entity.Category;
+import com.example.app.entity.ChangeEvent;
 import com.example.app.entity.Product;
+import com.example.app.exception.BadRequestException;
+import com.example.app.exception.PreconditionFailedException;
 import com.example.app.exception.ResourceNotFoundException;
+import com.example.app.money.Money;
 import com.example.app.repository.CategoryRepository;
 import com.example.app.repository.ProductRepository;
+import com.example.app.search.ProductSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Detach streamed entities every N rows so an export's heap footprint stays flat
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+    private static final int JDBC_BATCH_SIZE = 50; // Matches hibernate.jdbc.batch_size
+
+    public static final int MAX_LOOKUP_SIZE = 500;
+
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository; // To fetch Category entity
+    private final ChangeFeedService changeFeedService;
+    private final CategorySummaryService categorySummaryService;
+    private final ProductSearchIndex productSearchIndex;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ProductExportWriter exportWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProductWriteGenerations writeGenerations;
+    private final ConcurrentMap<Long, Lookup> inFlightLookups = new ConcurrentHashMap<>();
 
     @Autowired
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository,
+                          ChangeFeedService changeFeedService, CategorySummaryService categorySummaryService,
+                          ProductSearchIndex productSearchIndex, EntityManager entityManager, Validator validator,
+                          ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                          ProductWriteGenerations writeGenerations) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.changeFeedService = changeFeedService;
+        this.categorySummaryService = categorySummaryService;
+        this.productSearchIndex = productSearchIndex;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportWriter = new ProductExportWriter(objectMapper);
+        this.writeGenerations = writeGenerations;
     }
 
+    /**
+     * One keyset page of a category's products, optionally limited to {@code minPrice <= price <= maxPrice}.
+     * The cursor does not carry the filter, so the same bounds and sort must be sent for every page.
+     */
     @Transactional(readOnly = true)
-    public List<ProductDto> getAllProductsByCategoryId(Long categoryId) {
-        if (!categoryRepository.existsById(categoryId)) {
+    public ProductPageDto getProductsByCategoryId(Long categoryId, String cursor, Integer limit, String sort,
+                                                  BigDecimal minPrice, BigDecimal maxPrice) {
+        ProductSort productSort = ProductSort.fromParameter(sort);
+        ProductCursor after = cursor != null ? ProductCursor.decode(cursor, productSort) : null;
+        int pageSize = ProductReadParameters.pageSize(limit);
+        ProductReadParameters.checkPriceRange(minPrice, maxPrice);
+        Money lowerBound = ProductReadParameters.lowerPriceBound(minPrice);
+        Money upperBound = ProductReadParameters.upperPriceBound(maxPrice);
+
+        // Fetch one extra row to find out whether another page exists without issuing a COUNT(*)
+        List<Product> rows = productRepository.findPageInCategory(categoryId, lowerBound, upperBound, productSort,
+                after != null ? after.getPrice() : null, after != null ? after.getId() : null, pageSize + 1);
+
+        // A non-empty page proves the category exists; only an empty one needs the extra check
+        if (rows.isEmpty() && !categoryExists(categoryId)) {
             throw new ResourceNotFoundException("Category not found with ID " + categoryId + " when fetching products.");
         }
-        return productRepository.findByCategoryId(categoryId).stream()
-                .map(this::convertToDto)
+        boolean hasMore = rows.size() > pageSize;
+        List<Product> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? ProductCursor.after(productSort, page.get(page.size() - 1)).encode() : null;
+        List<ProductDto> items = page.stream()
+                .map(ProductMapper::toDto)
                 .collect(Collectors.toList());
+        return new ProductPageDto(items, nextCursor);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Concurrent lookups of the same product share one database fetch: the first caller loads it and
+     * callers arriving while that load is in flight wait for its result instead of querying again.
+     * A lookup that started before a write to the product committed is not joined, so a caller never
+     * gets an older state than one it could already have seen. Every caller gets its own copy.
+     * The load runs in its own read-only transaction, so waiting callers never hold a connection.
+     */
     public ProductDto getProductById(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID " + productId));
-        return convertToDto(product);
+        // A caller reading its own write must not share a lookup that may be served by a replica
+        if (ReadRouting.isPinnedToPrimary()) {
+            return readOnlyTransaction.execute(status -> loadProduct(productId));
+        }
+        Lookup lookup = new Lookup(writeGenerations.current(productId));
+        Lookup inFlight = inFlightLookups.putIfAbsent(productId, lookup);
+        if (inFlight != null) {
+            if (inFlight.generation == lookup.generation) {
+                return copyOf(awaitLookup(inFlight.result));
+            }
+            return readOnlyTransaction.execute(status -> loadProduct(productId));
+        }
+        try {
+            ProductDto productDto = readOnlyTransaction.execute(status -> loadProduct(productId));
+            lookup.result.complete(productDto);
+            return copyOf(productDto);
+        } catch (RuntimeException ex) {
+            lookup.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLookups.remove(productId, lookup);
+        }
+    }
+
+    /**
+     * Fetches up to {@value #MAX_LOOKUP_SIZE} products with a single IN query. Duplicate IDs are collapsed;
+     * otherwise the result keeps the requested order and lists the IDs that do not exist.
+     */
+    @Transactional(readOnly = true)
+    public ProductLookupResultDto getProductsByIds(List<Long> productIds) {
+        Set<Long> requestedIds = ProductReadParameters.lookupIds(productIds);
+        Map<Long, ProductDto> found = new HashMap<>();
+        for (Product product : productRepository.findAllById(requestedIds)) {
+            found.put(product.getId(), ProductMapper.toDto(product));
+        }
+
+        List<ProductDto> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            ProductDto productDto = found.get(id);
+            if (productDto != null) {
+                products.add(productDto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductLookupResultDto(products, missingIds);
+    }
+
+    /**
+     * Case-insensitive substring search over product names, answered by the in-memory index; only the
+     * matching rows are then read, with one IN query.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDto> searchProducts(String query, Long categoryId, Integer limit) {
+        int maxResults = ProductReadParameters.searchLimit(query, limit);
+        List<Long> matchingIds = productSearchIndex.search(query, categoryId, maxResults);
+        if (matchingIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> found = new HashMap<>();
+        for (Product product : productRepository.findAllById(matchingIds)) {
+            found.put(product.getId(), product);
+        }
+        List<ProductDto> results = new ArrayList<>(matchingIds.size());
+        for (Long id : matchingIds) {
+            Product product = found.get(id);
+            if (product != null) { // Deleted after the index lookup
+                results.add(ProductMapper.toDto(product));
+            }
+        }
+        return results;
     }
 
     @Transactional
     public ProductDto createProduct(Long categoryId, ProductDto productDto) {
+        // A reference sets the foreign key without loading the category; the FK constraint reports a missing one
+        Product product = convertToEntity(productDto, categoryRepository.getReferenceById(categoryId));
+        Product savedProduct;
+        try {
+            savedProduct = productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException ex) {
+            if (!IntegrityViolations.isForeignKeyViolation(ex)) {
+                throw ex;
+            }
+            throw new ResourceNotFoundException("Category not found with ID " + categoryId + " when creating product.");
+        }
+        categorySummaryService.productAdded(categoryId, savedProduct.getPrice());
+        changeFeedService.record(ChangeEvent.EntityType.PRODUCT, savedProduct.getId(), ChangeEvent.ChangeType.CREATED);
+        ProductDto createdProduct = ProductMapper.toDto(savedProduct);
+        TransactionCallbacks.afterCommit(() -> {
+            writeGenerations.written(createdProduct.getId());
+            indexProduct(createdProduct);
+        });
+        return createdProduct;
+    }
+
+    /**
+     * Validates all items up front, then inserts the valid ones in JDBC batches of {@value #JDBC_BATCH_SIZE}.
+     * Invalid items are reported per index and do not prevent the valid ones from being created.
+     */
+    @Transactional
+    public ProductBatchResultDto createProducts(Long categoryId, List<ProductDto> productDtos) {
+        if (productDtos == null || productDtos.isEmpty()) {
+            throw new BadRequestException("At least one product is required.");
+        }
+        if (productDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch may contain at most " + MAX_BATCH_SIZE + " products.");
+        }
         Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID " + categoryId + " when creating product."));
-        Product product = convertToEntity(productDto, category);
-        Product savedProduct = productRepository.save(product);
-        return convertToDto(savedProduct);
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID " + categoryId + " when creating products."));
+
+        List<ProductBatchItemResultDto> results = new ArrayList<>(productDtos.size());
+        List<Long> createdIds = new ArrayList<>(productDtos.size());
+        List<ProductDto> createdProducts = new ArrayList<>(productDtos.size());
+        int created = 0;
+        Money priceSum = Money.ZERO;
+        Money minPrice = null;
+        Money maxPrice = null;
+        for (int i = 0; i < productDtos.size(); i++) {
+            ProductDto productDto = productDtos.get(i);
+            String errors = validate(productDto);
+            if (errors != null) {
+                results.add(new ProductBatchItemResultDto(i, ProductBatchItemResultDto.Status.INVALID, null, errors));
+                continue;
+            }
+            // IDs come from the pooled sequence, so the INSERT itself is deferred to the next flush
+            Product savedProduct = productRepository.save(convertToEntity(productDto, category));
+            results.add(new ProductBatchItemResultDto(i, ProductBatchItemResultDto.Status.CREATED, savedProduct.getId(), null));
+            createdIds.add(savedProduct.getId());
+            createdProducts.add(ProductMapper.toDto(savedProduct));
+            Money price = savedProduct.getPrice();
+            priceSum = priceSum.plus(price);
+            minPrice = minPrice == null ? price : minPrice.min(price);
+            maxPrice = maxPrice == null ? price : maxPrice.max(price);
+            if (++created % JDBC_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        if (created > 0) {
+            categorySummaryService.productsAdded(categoryId, created, priceSum, minPrice, maxPrice);
+        }
+        changeFeedService.recordAll(ChangeEvent.EntityType.PRODUCT, createdIds, ChangeEvent.ChangeType.CREATED);
+        entityManager.flush();
+        TransactionCallbacks.afterCommit(() -> {
+            writeGenerations.written(createdIds);
+            createdProducts.forEach(this::indexProduct);
+        });
+        return new ProductBatchResultDto(created, productDtos.size() - created, results);
     }
 
+    /**
+     * Reads the row's category, price and version, then updates it with a single UPDATE conditional
+     * on that version, so the category summaries are adjusted for exactly the row that was replaced.
+     * Without an expected version the row is read with a lock, so the UPDATE always matches it.
+     * The response is built from the request and the row read; the product is not loaded.
+     */
     @Transactional
-    public ProductDto updateProduct(Long productId, ProductDto productDto) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID " + productId));
+    public ProductDto updateProduct(Long productId, ProductDto productDto, Long expectedVersion) {
+        Long newCategoryId = productDto.getCategoryId();
+        ProductRepository.ProductState current = loadState(productId, expectedVersion);
+        int updated;
+        try {
+            updated = newCategoryId == null
+                    ? productRepository.updateDetails(productId, productDto.getName(), productDto.getPrice(),
+                            current.getVersion())
+                    : productRepository.updateDetailsAndCategory(productId, productDto.getName(), productDto.getPrice(),
+                            categoryRepository.getReferenceById(newCategoryId), current.getVersion());
+        } catch (DataIntegrityViolationException ex) {
+            if (newCategoryId == null || !IntegrityViolations.isForeignKeyViolation(ex)) {
+                throw ex;
+            }
+            throw new ResourceNotFoundException("New category not found with ID " + newCategoryId);
+        }
+        if (updated == 0) {
+            // Only a conditional write can get here: changed or deleted since it was read
+            throw missingOrModified(productId, expectedVersion);
+        }
 
-        product.setName(productDto.getName());
-        product.setPrice(productDto.getPrice());
+        Long categoryId = newCategoryId != null ? newCategoryId : current.getCategoryId();
+        if (!categoryId.equals(current.getCategoryId())) {
+            categorySummaryService.productMoved(current.getCategoryId(), categoryId, current.getPrice(), productDto.getPrice());
+        } else if (!current.getPrice().equals(productDto.getPrice())) {
+            categorySummaryService.productRepriced(categoryId, current.getPrice(), productDto.getPrice());
+        }
+        changeFeedService.record(ChangeEvent.EntityType.PRODUCT, productId, ChangeEvent.ChangeType.UPDATED);
+
+        ProductDto updatedProductDto = new ProductDto();
+        updatedProductDto.setId(productId);
+        updatedProductDto.setName(productDto.getName());
+        updatedProductDto.setPrice(productDto.getPrice());
+        updatedProductDto.setCategoryId(categoryId);
+        updatedProductDto.setVersion(current.getVersion() + 1);
+        TransactionCallbacks.afterCommit(() -> {
+            writeGenerations.written(productId);
+            indexProduct(updatedProductDto);
+        });
+        return updatedProductDto;
+    }
+
+    @Transactional
+    public void deleteProduct(Long productId, Long expectedVersion) {
+        ProductRepository.ProductState current = loadState(productId, expectedVersion);
+        if (productRepository.deleteByIdInBulk(productId, current.getVersion()) == 0) {
+            throw missingOrModified(productId, expectedVersion);
+        }
+        categorySummaryService.productRemoved(current.getCategoryId(), current.getPrice());
+        changeFeedService.record(ChangeEvent.EntityType.PRODUCT, productId, ChangeEvent.ChangeType.DELETED);
+        TransactionCallbacks.afterCommit(() -> {
+            writeGenerations.written(productId);
+            productSearchIndex.remove(productId);
+        });
+    }
 
-        // If categoryId is provided in DTO and is different, update product's category
-        if (productDto.getCategoryId() != null && !productDto.getCategoryId().equals(product.getCategory().getId())) {
-            Category newCategory = categoryRepository.findById(productDto.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("New category not found with ID " + productDto.getCategoryId()));
-            product.setCategory(newCategory);
+    /**
+     * Applies {@code percent} or {@code amount} to every product in the category whose price lies within
+     * the optional bounds, with one UPDATE. Products whose price would drop to zero or below are skipped.
+     * The matching products are locked first; products added to the category after that are not adjusted.
+     *
+     * @return the number of products updated
+     */
+    @Transactional
+    public int adjustPrices(Long categoryId, PriceAdjustmentDto adjustment) {
+        if ((adjustment.getPercent() == null) == (adjustment.getAmount() == null)) {
+            throw new BadRequestException("Exactly one of percent and amount is required.");
+        }
+        BigDecimal minPrice = adjustment.getMinPrice();
+        BigDecimal maxPrice = adjustment.getMaxPrice();
+        ProductReadParameters.checkPriceRange(minPrice, maxPrice);
+        BigDecimal factor = adjustment.getPercent() == null ? BigDecimal.ONE
+                : BigDecimal.ONE.add(adjustment.getPercent().movePointLeft(2));
+        BigDecimal amount = adjustment.getAmount() == null ? BigDecimal.ZERO : adjustment.getAmount();
+
+        if (!categoryExists(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with ID " + categoryId);
         }
-        
-        Product updatedProduct = productRepository.save(product);
-        return convertToDto(updatedProduct);
+        // Product rows first, then the summary row, like every other product write (see CategorySummaryService)
+        List<Long> productIds = productRepository.findIdsForPriceAdjustmentForUpdate(categoryId, minPrice, maxPrice,
+                factor, amount);
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int from = 0; from < productIds.size(); from += MAX_BATCH_SIZE) { // Bounded bind parameters per statement
+            updated += productRepository.adjustPrices(
+                    productIds.subList(from, Math.min(from + MAX_BATCH_SIZE, productIds.size())), factor, amount);
+        }
+        categorySummaryService.categoriesChanged(List.of(categoryId));
+        changeFeedService.recordAll(ChangeEvent.EntityType.PRODUCT, productIds, ChangeEvent.ChangeType.UPDATED);
+        TransactionCallbacks.afterCommit(() -> writeGenerations.written(productIds));
+        return updated;
     }
 
+    /**
+     * Moves the listed products to another category with one UPDATE. IDs that do not exist or are
+     * already in the target category are ignored. The products to move are locked first, so the summaries,
+     * change events and search index entries are derived from exactly the rows the UPDATE changes.
+     *
+     * @return the number of products moved
+     */
     @Transactional
-    public void deleteProduct(Long productId) {
+    public int moveProducts(List<Long> productIds, Long targetCategoryId) {
+        Set<Long> requestedIds = new LinkedHashSet<>(productIds);
+        if (requestedIds.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " products can be moved at once.");
+        }
+        if (!categoryExists(targetCategoryId)) {
+            throw new ResourceNotFoundException("Target category not found with ID " + targetCategoryId);
+        }
+        // Locked, so exactly these rows are updated and the side effects below describe them
+        List<Object[]> candidates = productRepository.findMoveCandidatesForUpdate(requestedIds, targetCategoryId);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Set<Long> affectedCategoryIds = new HashSet<>();
+        affectedCategoryIds.add(targetCategoryId);
+        List<Long> movedIds = new ArrayList<>(candidates.size());
+        for (Object[] candidate : candidates) {
+            movedIds.add((Long) candidate[0]);
+            affectedCategoryIds.add((Long) candidate[2]);
+        }
+        int moved = productRepository.moveToCategory(movedIds, categoryRepository.getReferenceById(targetCategoryId));
+
+        categorySummaryService.categoriesChanged(affectedCategoryIds);
+        changeFeedService.recordAll(ChangeEvent.EntityType.PRODUCT, movedIds, ChangeEvent.ChangeType.UPDATED);
+        TransactionCallbacks.afterCommit(() -> writeGenerations.written(movedIds));
+        TransactionCallbacks.afterCommit(() -> candidates.forEach(candidate ->
+                productSearchIndex.upsert((Long) candidate[0], (String) candidate[1], targetCategoryId)));
+        return moved;
+    }
+
+    @Transactional(readOnly = true)
+    public Long getProductVersion(Long productId) {
+        return productRepository.findVersionById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID " + productId));
+    }
+
+    @Transactional(readOnly = true)
+    public void checkCategoryExists(Long categoryId) {
+        if (!categoryExists(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with ID " + categoryId);
+        }
+    }
+
+    /**
+     * Streams products with an ID greater than {@code sinceId} (optionally restricted to one category)
+     * to {@code out} in ID order, straight from a database cursor.
+     *
+     * @return the number of products written
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(Long categoryId, Long sinceId, ExportFormat format, OutputStream out) throws IOException {
+        long since = sinceId != null ? sinceId : 0L;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        exportWriter.writeHeader(writer, format);
+
+        long count = 0;
+        try (Stream<Product> products = categoryId != null
+                ? productRepository.streamByCategoryIdAndIdGreaterThan(categoryId, since)
+                : productRepository.streamByIdGreaterThan(since)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.writeRow(writer, format, ProductMapper.toDto(iterator.next()));
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    // findById is answered from the second-level cache; existsById would always issue a COUNT query
+    private boolean categoryExists(Long categoryId) {
+        return categoryRepository.findById(categoryId).isPresent();
+    }
+
+    // Without an expected version the row is locked, so concurrent writers queue instead of failing
+    private ProductRepository.ProductState loadState(Long productId, Long expectedVersion) {
+        ProductRepository.ProductState state = (expectedVersion == null
+                ? productRepository.findStateByIdForUpdate(productId)
+                : productRepository.findStateById(productId))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID " + productId));
+        if (expectedVersion != null && !expectedVersion.equals(state.getVersion())) {
+            throw new PreconditionFailedException("Product with ID " + productId + " has been modified (expected version "
+                    + expectedVersion + ", current version " + state.getVersion() + ").");
+        }
+        return state;
+    }
+
+    // Only reached after a conditional write matched no row, so the extra lookup is off the success path
+    private RuntimeException missingOrModified(Long productId, Long expectedVersion) {
+        Long currentVersion = productRepository.findVersionById(productId).orElse(null);
+        if (currentVersion == null) {
+            return new ResourceNotFoundException("Product not found with ID " + productId);
+        }
+        return new PreconditionFailedException("Product with ID " + productId + " has been modified (expected version "
+                + expectedVersion + ", current version " + currentVersion + ").");
+    }
+
+    private String validate(ProductDto productDto) {
+        if (productDto == null) {
+            return "product: must not be null";
+        }
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(productDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void indexProduct(ProductDto productDto) {
+        productSearchIndex.upsert(productDto.getId(), productDto.getName(), productDto.getCategoryId());
+    }
+
+    private ProductDto loadProduct(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID " + productId));
-        productRepository.delete(product);
+        return ProductMapper.toDto(product);
     }
 
-    // --- Helper Methods for DTO/Entity Conversion ---
-    private ProductDto convertToDto(Product product) {
-        ProductDto dto = new ProductDto();
-        dto.setId(product.getId());
-        dto.setName(product.getName());
-        dto.setPrice(product.getPrice());
-        dto.setCategoryId(product.getCategory().getId());
-        return dto;
+    // The shared result is never handed out itself, so one caller's changes cannot leak into another's response
+    private static ProductDto copyOf(ProductDto productDto) {
+        ProductDto copy = new ProductDto();
+        copy.setId(productDto.getId());
+        copy.setName(productDto.getName());
+        copy.setPrice(productDto.getPrice());
+        copy.setCategoryId(productDto.getCategoryId());
+        copy.setVersion(productDto.getVersion());
+        return copy;
     }
 
+    private static ProductDto awaitLookup(CompletableFuture<ProductDto> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause; // e.g. the leader's ResourceNotFoundException
+            }
+            throw ex;
+        }
+    }
+
+    // --- Helper Methods for DTO/Entity Conversion (entity to DTO is in ProductMapper) ---
     private Product convertToEntity(ProductDto productDto, Category category) {
         Product product = new Product();
         // ID is not set from DTO
@@ -95,4 +554,13 @@ public class ProductService {
         product.setCategory(category);
         return product;
     }
+
+    private static final class Lookup {
+        private final long generation;
+        private final CompletableFuture<ProductDto> result = new CompletableFuture<>();
+
+        private Lookup(long generation) {
+            this.generation = generation;
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.app.service;
+
+import com.example.app.exception.BadRequestException;
+
+/**
+ * Supported orderings for keyset-paginated product listings.
+ * Each ordering is backed by a (category_id, ..., id) index on the products table;
+ * PRICE_DESC scans the price index backwards.
+ */
+public enum ProductSort {
+    ID("id"),
+    PRICE("price"),
+    PRICE_DESC("price_desc");
+
+    private final String parameter;
+
+    ProductSort(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * The keyset condition for rows after {@code :afterPrice}/{@code :afterId} in this order. The price orders
+     * compare the pair as a row value, which the database can use as the start of a single index range.
+     * The column (or JPQL path) names are given by the caller, so the same text serves JPQL and SQL.
+     */
+    public String afterPredicate(String price, String id) {
+        return switch (this) {
+            case ID -> id + " > :afterId";
+            case PRICE -> "(" + price + ", " + id + ") > (:afterPrice, :afterId)";
+            case PRICE_DESC -> "(" + price + ", " + id + ") < (:afterPrice, :afterId)";
+        };
+    }
+
+    public String orderBy(String price, String id) {
+        return switch (this) {
+            case ID -> id;
+            case PRICE -> price + ", " + id;
+            case PRICE_DESC -> price + " DESC, " + id + " DESC";
+        };
+    }
+
+    public static ProductSort fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (ProductSort sort : values()) {
+            if (sort.parameter.equalsIgnoreCase(value.trim())) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Unsupported sort '" + value + "'. Supported values: id, price, price_desc.");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.app.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts committed writes per product, so that a coalesced lookup is only shared by callers that arrived
+ * before the latest write to that product committed. Striped by ID to stay bounded: a write also makes
+ * lookups of the other products in its stripe start afresh, which costs a query, never a stale read.
+ */
+@Component
+class ProductWriteGenerations {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    long current(Long productId) {
+        return generations.get(stripe(productId));
+    }
+
+    // Call once the write has committed
+    void written(Long productId) {
+        generations.incrementAndGet(stripe(productId));
+    }
+
+    void written(Collection<Long> productIds) {
+        productIds.forEach(this::written);
+    }
+
+    // For bulk deletes that do not know which products they removed
+    void allWritten() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Long productId) {
+        return (int) Math.floorMod(productId, (long) STRIPES);
+    }
+}
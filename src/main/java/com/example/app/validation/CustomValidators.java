@@ -27,6 +27,6 @@ package com.example.app.validation;
 // }
 
 public class CustomValidators {
-    // Currently no custom validators are defined as per project requirements.
+    // DecimalMinValidatorForMoney extends the built-in @DecimalMin to Money; no custom annotations are defined.
     // This class can be used to house them if needed in the future.
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.example.app.validation;
+
+import com.example.app.money.Money;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.DecimalMin;
+
+import java.math.BigDecimal;
+
+/**
+ * Lets {@link DecimalMin} be used on {@link Money} fields. Registered through
+ * {@code META-INF/services/jakarta.validation.ConstraintValidator}.
+ */
+public class DecimalMinValidatorForMoney implements ConstraintValidator<DecimalMin, Money> {
+
+    private BigDecimal minValue;
+    private boolean inclusive;
+
+    @Override
+    public void initialize(DecimalMin constraintAnnotation) {
+        this.minValue = new BigDecimal(constraintAnnotation.value());
+        this.inclusive = constraintAnnotation.inclusive();
+    }
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true; // @NotNull handles missing values
+        }
+        int comparison = value.toBigDecimal().compareTo(minValue);
+        return inclusive ? comparison >= 0 : comparison > 0;
+    }
+}
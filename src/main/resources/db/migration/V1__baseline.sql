@@ -0,0 +1,61 @@
+-- The schema of the entities at the time Flyway took over from ddl-auto: update.
+-- Databases created by ddl-auto are baselined at version 0 and run this too, so every statement is
+-- idempotent and skips objects that already exist. Constraint names there are Hibernate's generated
+-- ones rather than those below; ddl-auto: validate checks the result at startup.
+
+-- On PostgreSQL, postgresql/V1_1 then moves both past any IDs already in use
+CREATE SEQUENCE IF NOT EXISTS categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS categories (
+    id      BIGINT       NOT NULL,
+    version BIGINT DEFAULT 0,
+    name    VARCHAR(100) NOT NULL,
+    CONSTRAINT categories_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+-- Tables created before optimistic locking have no version column
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS products (
+    id          BIGINT         NOT NULL,
+    version     BIGINT DEFAULT 0,
+    name        VARCHAR(150)   NOT NULL,
+    price       NUMERIC(38, 2) NOT NULL,
+    category_id BIGINT         NOT NULL,
+    CONSTRAINT products_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_products_category_id_id ON products (category_id, id);
+CREATE INDEX IF NOT EXISTS idx_products_category_id_price_id ON products (category_id, price, id);
+
+CREATE TABLE IF NOT EXISTS category_summaries (
+    category_id   BIGINT         NOT NULL,
+    product_count BIGINT         NOT NULL,
+    price_sum     NUMERIC(38, 2) NOT NULL,
+    min_price     NUMERIC(38, 2),
+    max_price     NUMERIC(38, 2),
+    CONSTRAINT category_summaries_pkey PRIMARY KEY (category_id)
+);
+
+CREATE TABLE IF NOT EXISTS change_events (
+    seq         BIGINT                      NOT NULL,
+    entity_type VARCHAR(20)                 NOT NULL,
+    entity_id   BIGINT                      NOT NULL,
+    change_type VARCHAR(20)                 NOT NULL,
+    recorded_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT change_events_pkey PRIMARY KEY (seq)
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_events_entity ON change_events (entity_type, entity_id, seq);
+
+CREATE TABLE IF NOT EXISTS change_sequence (
+    id                 BIGINT NOT NULL,
+    last_seq           BIGINT NOT NULL,
+    purged_through_seq BIGINT NOT NULL,
+    CONSTRAINT change_sequence_pkey PRIMARY KEY (id)
+);
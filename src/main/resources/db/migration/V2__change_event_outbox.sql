@@ -0,0 +1,8 @@
+-- Change events are inserted without a sequence number and numbered after commit by the sequencer.
+-- Existing rows are already numbered and get their new IDs from the identity column.
+
+ALTER TABLE change_events DROP CONSTRAINT change_events_pkey;
+ALTER TABLE change_events ADD COLUMN id BIGINT GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE change_events ADD CONSTRAINT change_events_pkey PRIMARY KEY (id);
+ALTER TABLE change_events ALTER COLUMN seq DROP NOT NULL;
+ALTER TABLE change_events ADD CONSTRAINT uk_change_events_seq UNIQUE (seq);
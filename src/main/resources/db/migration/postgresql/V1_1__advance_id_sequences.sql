@@ -0,0 +1,7 @@
+-- V1 creates categories_seq and products_seq at 1, but a database baselined from ddl-auto: update may
+-- already hold rows with higher IDs. Move each sequence past its table's largest ID. Hibernate's pooled
+-- optimizer treats the next value as the top of a block of 50 IDs, so that block must start above MAX(id).
+-- PostgreSQL only (setval); the H2 test database always starts empty.
+
+SELECT setval('categories_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM categories), false);
+SELECT setval('products_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM products), false);
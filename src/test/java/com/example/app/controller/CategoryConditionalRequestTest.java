@@ -0,0 +1,163 @@
+package com.example.app.controller;
+
+import com.example.app.dto.CategoryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CategoryConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void unchangedCategoryListIsNotModified() throws Exception {
+        createCategory();
+        String etag = etagOf(get("/api/categories"));
+        assertThat(etag).startsWith("W/");
+
+        mockMvc.perform(get("/api/categories").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void renamingACategoryChangesTheListEtag() throws Exception {
+        Long id = createCategory();
+        String before = etagOf(get("/api/categories"));
+
+        mockMvc.perform(rename(id, null)).andExpect(status().isOk());
+
+        String after = mockMvc.perform(get("/api/categories").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void listEtagDependsOnWhichCategoryHasWhichVersion() {
+        // Same count, ID sum and version sum
+        String first = ETags.ofCategories(List.of(category(1L, 1L), category(2L, 0L)));
+        String second = ETags.ofCategories(List.of(category(1L, 0L), category(2L, 1L)));
+        assertThat(first).isNotEqualTo(second);
+
+        assertThat(ETags.ofCategories(List.of(category(2L, 0L), category(1L, 1L)))).isEqualTo(first);
+    }
+
+    @Test
+    void unchangedCategoryIsNotModified() throws Exception {
+        Long id = createCategory();
+        String etag = etagOf(get("/api/categories/{id}", id));
+
+        mockMvc.perform(get("/api/categories/{id}", id).accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void cborHasItsOwnEtag() throws Exception {
+        Long id = createCategory();
+        String json = etagOf(get("/api/categories/{id}", id));
+        MockHttpServletResponse response = mockMvc.perform(get("/api/categories/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        String cbor = response.getHeader(HttpHeaders.ETAG);
+        assertThat(cbor).isEqualTo(json.substring(0, json.length() - 1) + "-cbor\"");
+
+        // Revalidating the CBOR body with the JSON tag must not return 304
+        mockMvc.perform(get("/api/categories/{id}", id).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories/{id}", id).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, cbor));
+
+        // Either tag names the same version for If-Match
+        mockMvc.perform(rename(id, cbor)).andExpect(status().isOk());
+    }
+
+    @Test
+    void writesWithAStaleIfMatchFailWithPreconditionFailed() throws Exception {
+        Long id = createCategory();
+        String stale = etagOf(get("/api/categories/{id}", id));
+        String current = mockMvc.perform(rename(id, stale))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(current).isNotEqualTo(stale);
+
+        mockMvc.perform(rename(id, stale)).andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/categories/{id}", id).with(httpBasic("admin", "adminpass"))
+                        .header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/categories/{id}", id).with(httpBasic("admin", "adminpass"))
+                        .header(HttpHeaders.IF_MATCH, current))
+                .andExpect(status().isNoContent());
+    }
+
+    private Long createCategory() throws Exception {
+        String body = mockMvc.perform(post("/api/categories").with(httpBasic("admin", "adminpass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("etag-" + UUID.randomUUID())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, CategoryDto.class).getId();
+    }
+
+    private MockHttpServletRequestBuilder rename(Long id, String ifMatch) throws Exception {
+        MockHttpServletRequestBuilder request = put("/api/categories/{id}", id).with(httpBasic("admin", "adminpass"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json("renamed-" + UUID.randomUUID()));
+        return ifMatch != null ? request.header(HttpHeaders.IF_MATCH, ifMatch) : request;
+    }
+
+    private String etagOf(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+
+    private String json(String name) throws Exception {
+        CategoryDto category = new CategoryDto();
+        category.setName(name);
+        return objectMapper.writeValueAsString(category);
+    }
+
+    private static CategoryDto category(Long id, Long version) {
+        CategoryDto category = new CategoryDto();
+        category.setId(id);
+        category.setVersion(version);
+        return category;
+    }
+}
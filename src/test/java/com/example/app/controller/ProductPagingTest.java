@@ -0,0 +1,156 @@
+package com.example.app.controller;
+
+import com.example.app.dto.CategoryDto;
+import com.example.app.dto.ProductDto;
+import com.example.app.money.Money;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductPagingTest {
+
+    private static final int PRODUCTS = 55;
+    private static final int DEFAULT_PAGE_SIZE = 50; // Part of the API contract, so not read from ProductService
+    // Few distinct prices, so most products tie on price and the ID decides their order
+    private static final long[] PRICES = {1_000, 250, 1_000, 4_999, 250};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CategoryDto category = new CategoryDto();
+        category.setName("paging-" + UUID.randomUUID());
+        String body = mockMvc.perform(post("/api/categories").with(httpBasic("admin", "adminpass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(category)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        categoryId = objectMapper.readValue(body, CategoryDto.class).getId();
+
+        List<ProductDto> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            ProductDto product = new ProductDto();
+            product.setName("paged product " + i);
+            product.setPrice(Money.ofMinor(PRICES[i % PRICES.length]));
+            products.add(product);
+        }
+        mockMvc.perform(post("/api/categories/{categoryId}/products/batch", categoryId).with(httpBasic("admin", "adminpass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(products)))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void withoutALimitAPageHoldsFiftyProducts() throws Exception {
+        MockHttpServletResponse first = page(list());
+        assertThat(items(first)).hasSize(DEFAULT_PAGE_SIZE);
+        String cursor = first.getHeader(ProductController.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotNull();
+
+        MockHttpServletResponse last = page(list().param("cursor", cursor));
+        assertThat(items(last)).hasSize(PRODUCTS - DEFAULT_PAGE_SIZE);
+        assertThat(last.getHeader(ProductController.NEXT_CURSOR_HEADER)).isNull();
+    }
+
+    @Test
+    void followingTheCursorVisitsEveryProductOnceInIdOrder() throws Exception {
+        List<ProductDto> all = walk(null);
+        assertThat(all).hasSize(PRODUCTS);
+        assertThat(all).extracting(ProductDto::getId).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void followingTheCursorBreaksPriceTiesById() throws Exception {
+        List<ProductDto> ascending = walk("price");
+        assertThat(ascending).hasSize(PRODUCTS);
+        assertThat(ascending).extracting(ProductDto::getId).doesNotHaveDuplicates();
+        assertThat(ascending).isSortedAccordingTo(Comparator.comparing(ProductDto::getPrice)
+                .thenComparing(ProductDto::getId));
+
+        List<ProductDto> descending = walk("price_desc");
+        assertThat(descending).hasSize(PRODUCTS);
+        assertThat(descending).extracting(ProductDto::getId).doesNotHaveDuplicates();
+        assertThat(descending).isSortedAccordingTo(Comparator.comparing(ProductDto::getPrice)
+                .thenComparing(ProductDto::getId).reversed());
+    }
+
+    @Test
+    void invalidCursorsAreRejected() throws Exception {
+        mockMvc.perform(list().param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+        String garbage = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("p:cheap:1".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(list().param("cursor", garbage).param("sort", "price"))
+                .andExpect(status().isBadRequest());
+
+        // A cursor only continues the sort it was issued for
+        String priceCursor = page(list().param("sort", "price").param("limit", "5"))
+                .getHeader(ProductController.NEXT_CURSOR_HEADER);
+        mockMvc.perform(list().param("cursor", priceCursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Small pages, so ties on price span page boundaries
+    private List<ProductDto> walk(String sort) throws Exception {
+        List<ProductDto> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = list().param("limit", "7");
+            if (sort != null) {
+                request.param("sort", sort);
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MockHttpServletResponse response = page(request);
+            all.addAll(items(response));
+            cursor = response.getHeader(ProductController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return all;
+    }
+
+    private MockHttpServletRequestBuilder list() {
+        return get("/api/categories/{categoryId}/products", categoryId).accept(MediaType.APPLICATION_JSON);
+    }
+
+    private MockHttpServletResponse page(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private List<ProductDto> items(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readValue(response.getContentAsByteArray(), new TypeReference<List<ProductDto>>() { });
+    }
+}
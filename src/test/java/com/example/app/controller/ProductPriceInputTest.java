@@ -0,0 +1,81 @@
+package com.example.app.controller;
+
+import com.example.app.dto.CategoryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Request prices are rounded to cents before validation, so "greater than 0.0" is checked on the stored value
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductPriceInputTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CategoryDto category = new CategoryDto();
+        category.setName("prices-" + UUID.randomUUID());
+        String body = mockMvc.perform(post("/api/categories").with(httpBasic("admin", "adminpass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(category)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        categoryId = objectMapper.readValue(body, CategoryDto.class).getId();
+    }
+
+    @Test
+    void pricesBelowHalfACentRoundToZeroAndAreRejected() throws Exception {
+        createProduct("0.001").andExpect(status().isBadRequest());
+        createProduct("0.004").andExpect(status().isBadRequest());
+        createProduct("\"0.004\"").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void extraDecimalPlacesAreRoundedHalfUp() throws Exception {
+        createProduct("0.005")
+                .andExpect(status().isCreated())
+                .andExpect(content().json("{\"price\": 0.01}"));
+        createProduct("19.994")
+                .andExpect(status().isCreated())
+                .andExpect(content().json("{\"price\": 19.99}"));
+    }
+
+    @Test
+    void whitespaceAroundAStringPriceIsIgnored() throws Exception {
+        createProduct("\" 19.99 \"")
+                .andExpect(status().isCreated())
+                .andExpect(content().json("{\"price\": 19.99}"));
+        createProduct("\"\\t5\\n\"")
+                .andExpect(status().isCreated())
+                .andExpect(content().json("{\"price\": 5.00}"));
+    }
+
+    private ResultActions createProduct(String priceJson) throws Exception {
+        return mockMvc.perform(post("/api/categories/{categoryId}/products", categoryId).with(httpBasic("admin", "adminpass"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"priced product\", \"price\": " + priceJson + "}"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.app.repository;
+
+import com.example.app.dto.CategoryDto;
+import com.example.app.dto.ProductDto;
+import com.example.app.entity.Category;
+import com.example.app.money.Money;
+import com.example.app.service.CategoryService;
+import com.example.app.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class CategoryCacheStatementCountTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void lookupsByIdAreServedFromTheSecondLevelCache() {
+        CategoryDto category = createCategory();
+        // Warm-up: the first lookup may populate the entity region
+        findById(category.getId());
+
+        statistics.clear();
+        for (int i = 0; i < 3; i++) {
+            assertThat(findById(category.getId()).getName()).isEqualTo(category.getName());
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    // Product writes insert and update rows, so the check is that none of their statements reads a category
+    @Test
+    void productWritesDoNotLoadTheCategory() {
+        Long categoryId = createCategory().getId();
+        Long otherCategoryId = createCategory().getId();
+        findById(categoryId);
+        findById(otherCategoryId);
+
+        statistics.clear();
+        ProductDto product = new ProductDto();
+        product.setName("cached category product");
+        product.setPrice(Money.ofMinor(1_000));
+        ProductDto created = productService.createProduct(categoryId, product);
+
+        ProductDto update = new ProductDto();
+        update.setName("moved product");
+        update.setPrice(Money.ofMinor(1_200));
+        update.setCategoryId(otherCategoryId);
+        productService.updateProduct(created.getId(), update, created.getVersion());
+
+        EntityStatistics categoryStatistics = statistics.getEntityStatistics(Category.class.getName());
+        assertThat(categoryStatistics.getLoadCount()).isZero();
+        assertThat(categoryStatistics.getFetchCount()).isZero();
+    }
+
+    private CategoryDto createCategory() {
+        CategoryDto category = new CategoryDto();
+        category.setName("cached-" + UUID.randomUUID());
+        return categoryService.createCategory(category);
+    }
+
+    private Category findById(Long id) {
+        return readOnly.execute(status -> categoryRepository.findById(id).orElseThrow());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.app.service;
+
+import com.example.app.dto.CategoryDto;
+import com.example.app.dto.ProductDto;
+import com.example.app.money.Money;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class CategoryDeleteStatementCountTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deleteIssuesTheSameStatementsRegardlessOfCategorySize() {
+        statementsToDelete(0); // Warm-up, e.g. the change feed's sequence row
+
+        long empty = statementsToDelete(0);
+        long small = statementsToDelete(10);
+        long large = statementsToDelete(1_000);
+
+        assertThat(small).isEqualTo(empty);
+        assertThat(large).isEqualTo(empty);
+    }
+
+    private long statementsToDelete(int productCount) {
+        CategoryDto category = new CategoryDto();
+        category.setName("delete-" + UUID.randomUUID());
+        Long categoryId = categoryService.createCategory(category).getId();
+        if (productCount > 0) {
+            List<ProductDto> products = new ArrayList<>(productCount);
+            for (int i = 0; i < productCount; i++) {
+                ProductDto product = new ProductDto();
+                product.setName("product " + i);
+                product.setPrice(Money.ofMinor(100 + i));
+                products.add(product);
+            }
+            productService.createProducts(categoryId, products);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        categoryService.deleteCategory(categoryId, null);
+        return statistics.getPrepareStatementCount();
+    }
+}
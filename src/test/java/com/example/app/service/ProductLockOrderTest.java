@@ -0,0 +1,110 @@
+package com.example.app.service;
+
+import com.example.app.dto.CategoryDto;
+import com.example.app.dto.PriceAdjustmentDto;
+import com.example.app.dto.ProductDto;
+import com.example.app.money.Money;
+import com.example.app.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ProductLockOrderTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // The single-product edit holds its product row when the bulk update starts, and only then updates the
+    // summary row. With the bulk update locking the summary row first, the two would wait on each other.
+    @Test
+    void priceAdjustmentOverlappingASingleProductEditDoesNotDeadlock() throws Exception {
+        Long categoryId = createCategory();
+        Long productId = createProduct(categoryId, 1_000);
+        createProduct(categoryId, 2_000);
+
+        CountDownLatch productLocked = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Future<?> edit = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            productRepository.findStateByIdForUpdate(productId);
+            productLocked.countDown();
+            pause(); // Let the bulk update queue up behind the product lock
+            ProductDto update = new ProductDto();
+            update.setName("edited");
+            update.setPrice(Money.ofMinor(1_500));
+            productService.updateProduct(productId, update, null);
+        }));
+        assertThat(productLocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        PriceAdjustmentDto adjustment = new PriceAdjustmentDto();
+        adjustment.setPercent(BigDecimal.TEN);
+        Future<Integer> bulk = executor.submit(() -> productService.adjustPrices(categoryId, adjustment));
+
+        edit.get(30, TimeUnit.SECONDS);
+        assertThat(bulk.get(30, TimeUnit.SECONDS)).isEqualTo(2);
+
+        BigDecimal productSum = jdbcTemplate.queryForObject(
+                "SELECT SUM(price) FROM products WHERE category_id = ?", BigDecimal.class, categoryId);
+        BigDecimal summarySum = jdbcTemplate.queryForObject(
+                "SELECT price_sum FROM category_summaries WHERE category_id = ?", BigDecimal.class, categoryId);
+        assertThat(productSum).isEqualByComparingTo("38.50"); // (15.00 + 20.00) * 1.1
+        assertThat(summarySum).isEqualByComparingTo(productSum);
+    }
+
+    private Long createCategory() {
+        CategoryDto category = new CategoryDto();
+        category.setName("lock-order-" + UUID.randomUUID());
+        return categoryService.createCategory(category).getId();
+    }
+
+    private Long createProduct(Long categoryId, long priceMinor) {
+        ProductDto product = new ProductDto();
+        product.setName("lock order product");
+        product.setPrice(Money.ofMinor(priceMinor));
+        return productService.createProduct(categoryId, product).getId();
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}